@@ -0,0 +1,83 @@
+package com.example.event.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read/write split, enabled by listing replica JDBC URLs in app.datasource.replicas.
+ *
+ * The application DataSource is a LazyConnectionDataSourceProxy: the physical
+ * connection is only fetched once the transaction has marked it read-only or
+ * not, so @Transactional(readOnly = true) work (and Spring Data's read-only
+ * CRUD methods) lands on a replica while everything else uses the primary.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replicas")
+public class ReadWriteRoutingConfig {
+
+    // Every spring.datasource.hikari.* setting applies, as with the auto-configured pool
+    @Bean(destroyMethod = "close")
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryPool(@Value("${spring.datasource.url}") String url,
+                                        @Value("${spring.datasource.username:}") String username,
+                                        @Value("${spring.datasource.password:}") String password) {
+        return pool("primary", url, username, password);
+    }
+
+    // Replicas take the same hikari settings; url, credentials and size come from app.datasource.*
+    @Bean
+    public ReplicaRouter replicaRouter(HikariDataSource primaryPool,
+                                       @Value("${app.datasource.replicas}") List<String> urls,
+                                       @Value("${app.datasource.replica-username:${spring.datasource.username:}}") String username,
+                                       @Value("${app.datasource.replica-password:${spring.datasource.password:}}") String password,
+                                       @Value("${app.datasource.replica-pool-size:${spring.datasource.hikari.maximum-pool-size:10}}") int poolSize,
+                                       ReplicaStickiness stickiness,
+                                       Environment environment,
+                                       MeterRegistry registry) {
+        Binder binder = Binder.get(environment);
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : urls) {
+            HikariDataSource replica = new HikariDataSource();
+            binder.bind("spring.datasource.hikari", Bindable.ofInstance(replica));
+            replica.setPoolName("replica-" + (replicas.size() + 1));
+            replica.setJdbcUrl(url.trim());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setMaximumPoolSize(poolSize);
+            replica.setMetricRegistry(registry);
+            replicas.add(replica);
+        }
+        return new ReplicaRouter(primaryPool, replicas, stickiness);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryPool, ReplicaRouter replicaRouter) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primaryPool);
+        proxy.setReadOnlyDataSource(replicaRouter);
+        return proxy;
+    }
+
+    private static HikariDataSource pool(String name, String url, String username, String password) {
+        HikariDataSource ds = new HikariDataSource();
+        ds.setPoolName(name);
+        ds.setJdbcUrl(url);
+        ds.setUsername(username);
+        ds.setPassword(password);
+        return ds;
+    }
+}
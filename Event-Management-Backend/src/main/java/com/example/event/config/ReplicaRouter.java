@@ -0,0 +1,50 @@
+package com.example.event.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Target for read-only connections: round-robin over the replica pools, or the
+ * primary while the current user is inside their read-your-writes window.
+ */
+public class ReplicaRouter extends AbstractRoutingDataSource implements DisposableBean {
+
+    private static final String PRIMARY = "primary";
+
+    private final List<HikariDataSource> replicas;
+    private final ReplicaStickiness stickiness;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRouter(DataSource primary, List<HikariDataSource> replicas, ReplicaStickiness stickiness) {
+        this.replicas = replicas;
+        this.stickiness = stickiness;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) targets.put(i, replicas.get(i));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (stickiness.currentUserIsSticky()) return PRIMARY;
+        return Math.floorMod(next.getAndIncrement(), replicas.size());
+    }
+
+    List<HikariDataSource> replicas() {
+        return replicas;
+    }
+
+    @Override
+    public void destroy() {
+        replicas.forEach(HikariDataSource::close);
+    }
+}
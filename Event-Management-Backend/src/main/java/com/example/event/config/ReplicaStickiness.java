@@ -0,0 +1,47 @@
+package com.example.event.config;
+
+import com.example.event.entity.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-your-writes for replica routing: a user who just changed something is
+ * served from the primary for a short window, so their own reads never lag
+ * behind the write they made. Marks are per node and kept in memory.
+ */
+@Component
+@ConditionalOnProperty(name = "app.datasource.replicas")
+public class ReplicaStickiness {
+
+    private static final int SWEEP_ABOVE = 10_000;
+
+    private final Map<Long, Long> until = new ConcurrentHashMap<>();
+    private final long windowNanos;
+
+    public ReplicaStickiness(@Value("${app.datasource.sticky-window:5000}") long windowMillis) {
+        this.windowNanos = windowMillis * 1_000_000L;
+    }
+
+    public void mark(Long userId) {
+        long now = System.nanoTime();
+        until.put(userId, now + windowNanos);
+        if (until.size() > SWEEP_ABOVE) until.values().removeIf(t -> t - now <= 0);
+    }
+
+    public boolean isSticky(Long userId) {
+        Long t = until.get(userId);
+        return t != null && t - System.nanoTime() > 0;
+    }
+
+    // Checks the user authenticated on this thread, if any
+    public boolean currentUserIsSticky() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.getPrincipal() instanceof User user && isSticky(user.getId());
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.event.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.util.Map;
+
+/**
+ * Ids used to come from IDENTITY columns. The pooled sequences that replaced
+ * them start at 1, so on an existing PostgreSQL database move each sequence
+ * past the current max id before the app serves any request. Waitlist entries
+ * from before the per-event queue counter get their seq numbered in id order.
+ */
+@Component
+public class SequenceAligner {
+
+    private static final Logger log = LoggerFactory.getLogger(SequenceAligner.class);
+
+    private static final int ALLOCATION_SIZE = 50;
+
+    // sequence -> table
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "users_seq", "users",
+            "event_seq", "event",
+            "registration_seq", "registration",
+            "waitlist_entry_seq", "waitlist_entry"
+    );
+
+    private final JdbcTemplate jdbc;
+
+    // Depends on the EntityManagerFactory so the schema update has already run
+    public SequenceAligner(JdbcTemplate jdbc, EntityManagerFactory emf) {
+        this.jdbc = jdbc;
+    }
+
+    @PostConstruct
+    public void align() {
+        String product = jdbc.execute((Connection c) -> c.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equalsIgnoreCase(product)) return;
+
+        SEQUENCES.forEach((seq, table) -> {
+            Long maxId = jdbc.queryForObject("select coalesce(max(id), 0) from " + table, Long.class);
+            Long current = jdbc.queryForObject(
+                    "select coalesce(last_value, 0) from " + seq, Long.class);
+
+            if (maxId != null && current != null && current <= maxId) {
+                jdbc.queryForObject("select setval('" + seq + "', ?)", Long.class, maxId + ALLOCATION_SIZE);
+                log.info("Moved sequence {} past existing max id {}", seq, maxId);
+            }
+        });
+
+        int numbered = jdbc.update("""
+                update waitlist_entry w set seq = (
+                    select count(*) from waitlist_entry o where o.event_id = w.event_id and o.id <= w.id)
+                where seq is null
+                """);
+        if (numbered > 0) {
+            jdbc.update("""
+                    update event e set waitlist_seq = (
+                        select max(w.seq) from waitlist_entry w where w.event_id = e.id)
+                    where waitlist_seq is null
+                    """);
+            log.info("Numbered {} waitlist entries in queue order", numbered);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.event.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread.
+ * Registered through hibernate.session_factory.statement_inspector, so
+ * Hibernate creates it and the count lives in a static ThreadLocal that
+ * RequestStatementMetrics opens and closes around each request.
+ */
+public class StatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] c = COUNT.get();
+        if (c != null) c[0]++;
+        return sql;
+    }
+
+    static void start() {
+        COUNT.set(new int[1]);
+    }
+
+    static int stop() {
+        int[] c = COUNT.get();
+        COUNT.remove();
+        return c == null ? 0 : c[0];
+    }
+}
@@ -6,6 +6,8 @@ import com.example.event.dto.RegisterRequest;
 import com.example.event.service.AuthService;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/auth")
 @CrossOrigin
@@ -18,34 +20,37 @@ public class AuthController {
     }
 
     @PostMapping("/register")
-    public ApiResponse<?> register(@RequestBody(required = false) RegisterRequest request) {
+    public CompletableFuture<ApiResponse<?>> register(@RequestBody(required = false) RegisterRequest request) {
 
         if (request == null ||
             request.getEmail() == null ||
             request.getPassword() == null ||
             request.getRole() == null) {
 
-            return new ApiResponse<>(false, "Invalid registration data", null);
+            return CompletableFuture.completedFuture(
+                    new ApiResponse<>(false, "Invalid registration data", null));
         }
 
-        authService.register(request);
-        return new ApiResponse<>(true, "User registered successfully", null);
+        return authService.register(request)
+                .thenApply(v -> new ApiResponse<>(true, "User registered successfully", null));
     }
 
     @PostMapping("/login")
-    public ApiResponse<?> login(@RequestBody(required = false) AuthRequest request) {
+    public CompletableFuture<ApiResponse<?>> login(@RequestBody(required = false) AuthRequest request) {
 
         if (request == null ||
             request.getEmail() == null ||
             request.getPassword() == null) {
 
-            return new ApiResponse<>(false, "Invalid login data", null);
+            return CompletableFuture.completedFuture(
+                    new ApiResponse<>(false, "Invalid login data", null));
         }
 
-        return new ApiResponse<>(
-                true,
-                "Login successful",
-                authService.login(request)
-        );
+        return authService.login(request)
+                .thenApply(data -> new ApiResponse<>(
+                        true,
+                        "Login successful",
+                        data
+                ));
     }
 }
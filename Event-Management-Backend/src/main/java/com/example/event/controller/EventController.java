@@ -2,11 +2,34 @@ package com.example.event.controller;
 
 import com.example.event.dto.ApiResponse;
 import com.example.event.entity.Event;
+import com.example.event.entity.User;
+import com.example.event.exception.BadRequestException;
+import com.example.event.security.JwtUtil;
+import com.example.event.service.BulkRegistrationService;
+import com.example.event.service.CatalogSnapshot;
+import com.example.event.service.CatalogVersion;
 import com.example.event.service.EventService;
+import com.example.event.service.SeatBroadcaster;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/events")
@@ -15,12 +38,78 @@ import org.springframework.web.bind.annotation.*;
 public class EventController {
 
     private final EventService service;
+    private final SeatBroadcaster broadcaster;
+    private final BulkRegistrationService bulkService;
+    private final CatalogVersion catalogVersion;
+    private final CatalogSnapshot snapshot;
+    private final JwtUtil jwtUtil;
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
 
+    // Keyset pagination: pass data.next of the previous page as ?after=; it is null on the last page
+    // Full-size JSON pages are served as pre-encoded bytes from the catalog snapshot;
+    // Smile/CBOR clients go through the message converters instead
     @GetMapping("/available")
-    public ApiResponse<?> events() {
-        return new ApiResponse<>(true, "Seats Fetched Success", service.allWithSeats());
+    public ResponseEntity<?> events(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "" + EventService.MAX_PAGE_SIZE) int size,
+            ServletWebRequest request) {
+
+        var hit = acceptsBinary(request) ? Optional.<CatalogSnapshot.Hit>empty() : snapshot.lookup(after, size);
+        if (hit.isPresent()) {
+            CatalogSnapshot.Page page = hit.get().page();
+            String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+            boolean gzip = page.gzip() != null && acceptEncoding != null && acceptEncoding.contains("gzip");
+
+            ResponseEntity.BodyBuilder ok = ResponseEntity.ok()
+                    .eTag(hit.get().etag())
+                    .cacheControl(CacheControl.noCache())
+                    .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                    .contentType(MediaType.APPLICATION_JSON);
+            return gzip
+                    ? ok.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(page.gzip())
+                    : ok.body(page.json());
+        }
+
+        if (notModified(request)) return null;
+        return ResponseEntity.ok(new ApiResponse<>(true, "Seats Fetched Success", service.allWithSeats(after, size)));
     }
     
+    // Live seat deltas; EventSource cannot set headers, so it passes a token from /seats/token as ?access_token=
+    @GetMapping(path = "/seats/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter seatStream() {
+        return broadcaster.subscribe();
+    }
+
+    // Short-lived token that only opens the seat stream, so the session token stays out of URLs
+    @GetMapping("/seats/token")
+    public ApiResponse<String> seatStreamToken(@AuthenticationPrincipal User user) {
+        return new ApiResponse<>(true, "Stream token issued",
+                jwtUtil.generateStreamToken(user.getEmail(), user.getRole().name()));
+    }
+
+    // Ranked search over title, speaker, description and category
+    @GetMapping("/search")
+    public ApiResponse<?> search(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            ServletWebRequest request) {
+        if (notModified(request)) return null;
+        return new ApiResponse<>(true, "Search results", service.search(q, category, from, to, page, size));
+    }
+
+    // 🔹 Past events from the archive, keyset-paginated like /available
+    @GetMapping("/history")
+    public ApiResponse<?> history(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "50") int size) {
+        return new ApiResponse<>(true, "Event history", service.history(after, size));
+    }
+
     @GetMapping("/{id}")
     public ApiResponse<?> getEvent(@PathVariable Long id) {
         return new ApiResponse<>(true, "Event fetched", service.getEvent(id));
@@ -32,7 +121,8 @@ public class EventController {
     }
 
     @GetMapping
-    public ApiResponse<?> all() {
+    public ApiResponse<?> all(ServletWebRequest request) {
+        if (notModified(request)) return null;
         return new ApiResponse<>(true, "Events fetched", service.all());
     }
     
@@ -42,6 +132,37 @@ public class EventController {
         return new ApiResponse<>(true, "Registered students", service.getRegisteredStudents(id));
     }
 
+    // 🔹 Streaming export of an event's students: ?format=csv (default) or ndjson
+    @GetMapping("/{id}/students/export")
+    public void exportStudents(@PathVariable Long id,
+                               @RequestParam(defaultValue = "csv") String format,
+                               HttpServletResponse response) throws IOException {
+        if (!format.equalsIgnoreCase("csv") && !format.equalsIgnoreCase("ndjson"))
+            throw new BadRequestException("Unsupported format");
+
+        service.getEvent(id);
+
+        boolean csv = format.equalsIgnoreCase("csv");
+        response.setCharacterEncoding("UTF-8");
+        response.setContentType(csv ? "text/csv" : "application/x-ndjson");
+        if (csv)
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"event-" + id + "-students.csv\"");
+
+        service.exportStudents(id, format, response.getWriter());
+    }
+
+    // 🔹 Bulk enroll students: text/csv (one email per line) or a JSON array of emails
+    @PostMapping(path = "/{id}/registrations/bulk", consumes = "text/csv")
+    public ApiResponse<?> bulkRegisterCsv(@PathVariable Long id, HttpServletRequest request) throws IOException {
+        return new ApiResponse<>(true, "Bulk registration processed", bulkService.importCsv(id, request.getReader()));
+    }
+
+    @PostMapping(path = "/{id}/registrations/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ApiResponse<?> bulkRegisterJson(@PathVariable Long id, @RequestBody List<String> emails) {
+        return new ApiResponse<>(true, "Bulk registration processed",
+                bulkService.importEmails(id, emails));
+    }
+
     // ✅ UPDATE
     @PutMapping("/{id}")
     public ApiResponse<?> update(@PathVariable Long id, @RequestBody Event e) {
@@ -54,4 +175,44 @@ public class EventController {
         service.delete(id);
         return new ApiResponse<>(true, "Event deleted", null);
     }
+
+    // Version is read before the query, so a response is never labelled newer than its data
+    private boolean notModified(ServletWebRequest request) {
+        // Same version tag for every encoding, so caches must key on Accept too
+        if (request.getResponse() != null) request.getResponse().addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        return request.checkNotModified(catalogVersion.etag());
+    }
+
+    // Binary only when the client ranks Smile or CBOR above JSON; ties and bad headers get JSON
+    private static boolean acceptsBinary(ServletWebRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null || accept.isBlank()) return false;
+
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException ex) {
+            return false;
+        }
+        double json = quality(accepted, MediaType.APPLICATION_JSON);
+        double binary = Math.max(quality(accepted, SMILE), quality(accepted, MediaType.APPLICATION_CBOR));
+        return binary > json;
+    }
+
+    // q of the most specific accepted range that covers the type (RFC 9110 12.5.1), 0 if none does
+    private static double quality(List<MediaType> accepted, MediaType type) {
+        MediaType best = null;
+        for (MediaType range : accepted) {
+            if (!range.includes(type)) continue;
+            if (best == null || specificity(range) > specificity(best)
+                    || (specificity(range) == specificity(best) && range.getQualityValue() > best.getQualityValue()))
+                best = range;
+        }
+        return best == null ? 0 : best.getQualityValue();
+    }
+
+    private static int specificity(MediaType range) {
+        if (range.isWildcardType()) return 0;
+        return range.isWildcardSubtype() ? 1 : 2;
+    }
 }
@@ -1,14 +1,20 @@
 package com.example.event.controller;
 
 import com.example.event.dto.ApiResponse;
+import com.example.event.entity.Event;
 import com.example.event.entity.User;
 import com.example.event.service.EventService;
+import com.example.event.service.IdempotencyStore;
+import com.example.event.service.RegistrationPipeline;
 import com.example.event.service.RegistrationService;
+import com.example.event.service.WaitlistService;
 import lombok.RequiredArgsConstructor;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
+import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
@@ -22,49 +28,123 @@ public class RegistrationController {
 
     private final RegistrationService regService;
     private final EventService eventService;
+    private final WaitlistService waitlistService;
+    private final IdempotencyStore idempotency;
+    private final RegistrationPipeline pipeline;
 
+    // 🔹 Retries carrying the same Idempotency-Key replay the first response
     @DeleteMapping("/{eventId}")
     public ApiResponse<?> unregister(
             @PathVariable Long eventId,
-            @AuthenticationPrincipal User user
+            @AuthenticationPrincipal User user,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey
     ) {
-        regService.unregister(user, eventId);
-        return new ApiResponse<>(true, "UnRegistered Successfull",null);
+        return idempotency.execute(user.getId(), idempotencyKey, "DELETE /" + eventId, () -> {
+            regService.unregister(user, eventId);
+            return new ApiResponse<>(true, "UnRegistered Successfull",null);
+        });
     }
 
     @DeleteMapping("/reg/{registrationId}")
     public ApiResponse<?> unregisterd(
             @PathVariable Long registrationId,
-            @AuthenticationPrincipal User user
+            @AuthenticationPrincipal User user,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey
     ) {
-        regService.unregisterByRegistrationId(user, registrationId);
-        return new ApiResponse<>(true, "Unregistered successfully", null);
+        return idempotency.execute(user.getId(), idempotencyKey, "DELETE /reg/" + registrationId, () -> {
+            regService.unregisterByRegistrationId(user, registrationId);
+            return new ApiResponse<>(true, "Unregistered successfully", null);
+        });
     }
 
     @GetMapping("/{registrationId}")
     public ApiResponse<?> getRegistration(@PathVariable Long registrationId, Authentication auth) {
         User user = (User) auth.getPrincipal();
-        var reg = regService.findByIdAndUser(registrationId, user);
-        
-        return new ApiResponse<>(true, "Registration found", Map.of(
-            "id", reg.getId(),
-            "eventId", reg.getEvent().getId(),  // 🔥 KEY FOR FRONTEND
-            "eventTitle", reg.getEvent().getTitle(),
-            "venue", reg.getEvent().getVenue(),
-            "registeredAt", reg.getRegisteredAt()
-        ));
+
+        return new ApiResponse<>(true, "Registration found",
+                regService.view(registrationId, user));
     }
 
     
     @PostMapping("/{eventId}")
     public ApiResponse<?> register(
             @PathVariable Long eventId,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            Authentication auth) {
+
+        User user = (User) auth.getPrincipal();
+
+        return idempotency.execute(user.getId(), idempotencyKey, "POST /" + eventId, () -> {
+            Event event = eventService.get(eventId);
+            regService.prepareSeat(event);
+            regService.register(user, event);
+            return new ApiResponse<>(true, "Registered successfully", null);
+        });
+    }
+
+    // 🔹 Queued registration for big events: 202 + ticket, outcome via /tickets/{ticketId}
+    @PostMapping(value = "/{eventId}", params = "async=true")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public ApiResponse<?> registerAsync(
+            @PathVariable Long eventId,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            Authentication auth) {
+
+        User user = (User) auth.getPrincipal();
+
+        return idempotency.execute(user.getId(), idempotencyKey, "POST async /" + eventId, () ->
+                new ApiResponse<>(true, "Registration queued",
+                        pipeline.submit(user, eventService.get(eventId))));
+    }
+
+    // wait > 0 holds the request open (up to 25s) until the ticket resolves
+    @GetMapping("/tickets/{ticketId}")
+    public CompletableFuture<ApiResponse<?>> ticket(
+            @PathVariable String ticketId,
+            @RequestParam(defaultValue = "0") long wait,
             Authentication auth) {
 
         User user = (User) auth.getPrincipal();
-        regService.register(user, eventService.get(eventId));
 
-        return new ApiResponse<>(true, "Registered successfully", null);
+        return pipeline.await(ticketId, user, Math.min(wait, 25_000))
+                .thenApply(t -> new ApiResponse<>(true, "Registration ticket", t));
+    }
+
+    // 🔹 Waitlist for full events: join, check position, leave
+    @PostMapping("/{eventId}/waitlist")
+    public ApiResponse<?> joinWaitlist(@PathVariable Long eventId, Authentication auth) {
+        User user = (User) auth.getPrincipal();
+        long position = waitlistService.join(user, eventService.get(eventId));
+
+        return new ApiResponse<>(true, "Added to waitlist",
+                Map.of("eventId", eventId, "position", position));
+    }
+
+    @GetMapping("/{eventId}/waitlist")
+    public ApiResponse<?> waitlistPosition(@PathVariable Long eventId, Authentication auth) {
+        User user = (User) auth.getPrincipal();
+        long position = waitlistService.position(user, eventService.get(eventId));
+
+        return new ApiResponse<>(true, "Waitlist position",
+                Map.of("eventId", eventId, "position", position));
+    }
+
+    @DeleteMapping("/{eventId}/waitlist")
+    public ApiResponse<?> leaveWaitlist(@PathVariable Long eventId, Authentication auth) {
+        User user = (User) auth.getPrincipal();
+        waitlistService.leave(user, eventService.get(eventId));
+
+        return new ApiResponse<>(true, "Removed from waitlist", null);
+    }
+
+    // 🔹 Registrations for past (archived) events; /my only lists the hot tier
+    @GetMapping("/history")
+    public ApiResponse<?> history(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "50") int size,
+            Authentication auth) {
+        return new ApiResponse<>(true, "Registration history",
+                regService.history((User) auth.getPrincipal(), after, size));
     }
 
     @GetMapping("/my")
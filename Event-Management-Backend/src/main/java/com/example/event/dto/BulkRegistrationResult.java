@@ -0,0 +1,42 @@
+package com.example.event.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+public class BulkRegistrationResult {
+
+    public enum Outcome {
+        REGISTERED,
+        ALREADY_REGISTERED,
+        UNKNOWN_USER,
+        NOT_A_STUDENT,
+        DUPLICATE,
+        EVENT_FULL
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Row {
+        private String email;
+        private Outcome outcome;
+    }
+
+    private Long eventId;
+    private int registered;
+    private int rejected;
+    private List<Row> rows = new ArrayList<>();
+
+    public BulkRegistrationResult(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public void add(String email, Outcome outcome) {
+        rows.add(new Row(email, outcome));
+        if (outcome == Outcome.REGISTERED) registered++;
+        else rejected++;
+    }
+}
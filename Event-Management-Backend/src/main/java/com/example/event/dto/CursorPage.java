@@ -0,0 +1,14 @@
+package com.example.event.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// Keyset page; next is the ?after= for the following page, null on the last one
+@Data
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    private Long next;
+}
@@ -0,0 +1,37 @@
+package com.example.event.dto;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.Data;
+
+@Data
+public class EventSeats {
+    private Long id;
+    private String title;
+    private String venue;
+    private int maxCapacity;
+    private long remainingSeats;
+    private String category;
+    private String speaker;
+
+    @JsonProperty("date_time")
+    private LocalDateTime dateTime;
+
+    private String description;
+
+    // Used by the JPQL constructor expression in EventRepository
+    public EventSeats(Long id, String title, String venue, Integer maxCapacity, Long registered,
+                      String category, String speaker, LocalDateTime dateTime, String description) {
+        this.id = id;
+        this.title = title;
+        this.venue = venue;
+        this.maxCapacity = maxCapacity;
+        this.remainingSeats = Math.max(0, maxCapacity - registered);
+        this.category = category;
+        this.speaker = speaker;
+        this.dateTime = dateTime;
+        this.description = description;
+    }
+}
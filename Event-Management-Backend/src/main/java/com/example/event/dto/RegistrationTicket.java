@@ -0,0 +1,22 @@
+package com.example.event.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class RegistrationTicket {
+
+    public enum Status {
+        PENDING,
+        REGISTERED,
+        ALREADY_REGISTERED,
+        EVENT_FULL,
+        FAILED
+    }
+
+    private String ticketId;
+    private Long eventId;
+    private Status status;
+    private String message;
+}
@@ -0,0 +1,25 @@
+package com.example.event.dto;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// Flat read model for "my registrations" and single-registration lookups
+@Data
+@AllArgsConstructor
+public class RegistrationView {
+    private Long id;
+    private Long eventId;
+    private String eventTitle;
+    private String venue;
+    private String category;
+    private String speaker;
+
+    @JsonProperty("date_time")
+    private LocalDateTime dateTime;
+
+    private LocalDateTime registeredAt;
+}
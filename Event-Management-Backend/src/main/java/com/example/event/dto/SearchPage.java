@@ -0,0 +1,15 @@
+package com.example.event.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class SearchPage<T> {
+    private int total;
+    private int page;
+    private int size;
+    private List<T> items;
+}
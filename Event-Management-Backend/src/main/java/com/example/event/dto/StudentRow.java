@@ -0,0 +1,16 @@
+package com.example.event.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// Registered student as exposed to admins: never the full User entity
+@Data
+@AllArgsConstructor
+public class StudentRow {
+    private Long id;
+    private String name;
+    private String email;
+    private LocalDateTime registeredAt;
+}
@@ -0,0 +1,39 @@
+package com.example.event.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+
+// Cold tier: a finished event, moved out of the event table by EventArchiver
+@Entity
+@Getter @Setter
+@Table(name = "event_archive",
+       indexes = @Index(name = "idx_event_archive_archived_at", columnList = "archived_at"))
+public class ArchivedEvent {
+
+    // Same id as the live row had
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String title;
+
+    private String description;
+
+    private LocalDateTime dateTime;
+
+    @Column(nullable = false)
+    private String venue;
+
+    private int maxCapacity;
+
+    private String speaker;
+    private String category;
+
+    // Registration count at the time the event was archived
+    private long registered;
+
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,29 @@
+package com.example.event.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+
+// Cold tier: a registration for an archived event; users themselves are never archived
+@Entity
+@Getter @Setter
+@Table(name = "registration_archive",
+       indexes = {
+           @Index(name = "idx_registration_archive_user", columnList = "user_id, id"),
+           @Index(name = "idx_registration_archive_event", columnList = "event_id")
+       })
+public class ArchivedRegistration {
+
+    @Id
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    private LocalDateTime registeredAt;
+}
@@ -0,0 +1,32 @@
+package com.example.event.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+
+// A committed change one node announces to the others (clustered seat mode); pruned after a while
+@Entity
+@Getter @Setter
+@Table(indexes = @Index(name = "idx_cluster_change_created", columnList = "created_at"))
+public class ClusterChange {
+
+    public enum Kind { EVENT, USER }
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Kind kind;
+
+    @Column(name = "ref_id", nullable = false)
+    private Long refId;
+
+    @Column(name = "node_id", nullable = false)
+    private String nodeId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
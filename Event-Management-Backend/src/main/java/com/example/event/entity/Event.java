@@ -6,13 +6,20 @@ import lombok.*;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import org.hibernate.annotations.SQLRestriction;
+
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 @Entity
 @Getter @Setter
+@Table(indexes = @Index(name = "idx_event_date_time", columnList = "date_time"))
+@SQLRestriction("deleted_at is null")
 public class Event {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_seq")
+    @SequenceGenerator(name = "event_seq", sequenceName = "event_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -30,9 +37,23 @@ public class Event {
 
     private String speaker;
     private String category;
+
+    // Last waitlist seq handed out; only moved by EventRepository.nextWaitlistSeq,
+    // so entity updates never write it back
+    @JsonIgnore
+    @Column(insertable = false, updatable = false)
+    private Long waitlistSeq;
+
+    // Set on delete; the row and its registrations are purged later by EventPurger
+    @JsonIgnore
+    private LocalDateTime deletedAt;
     
-    @OneToMany(mappedBy = "event", cascade = CascadeType.REMOVE, orphanRemoval = true)
+    @OneToMany(mappedBy = "event")
     @JsonBackReference
     private List<Registration> registrations;
 
+    @OneToMany(mappedBy = "event")
+    @JsonIgnore
+    private List<WaitlistEntry> waitlist;
+
 }
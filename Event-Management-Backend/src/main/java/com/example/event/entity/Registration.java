@@ -8,16 +8,20 @@ import java.time.LocalDateTime;
 
 @Entity
 @Getter @Setter
-@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"user_id","event_id"}))
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"user_id","event_id"}),
+       indexes = @Index(name = "idx_registrations_event", columnList = "event_id"))
 public class Registration {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence (not IDENTITY) so Hibernate can batch inserts
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "registration_seq")
+    @SequenceGenerator(name = "registration_seq", sequenceName = "registration_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     private User user;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     private Event event;
 
     private LocalDateTime registeredAt;
@@ -0,0 +1,27 @@
+package com.example.event.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+
+// Seats of one event held by one backend node and not yet registered (clustered seat mode)
+@Entity
+@Getter @Setter
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"event_id","node_id"}))
+public class SeatLease {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Column(name = "node_id", nullable = false)
+    private String nodeId;
+
+    private int seats;
+
+    private LocalDateTime expiresAt;
+}
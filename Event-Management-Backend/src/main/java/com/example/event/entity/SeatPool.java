@@ -0,0 +1,18 @@
+package com.example.event.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+
+// One row per event in clustered seat mode; locking it serializes leasing across nodes
+@Entity
+@Getter @Setter
+public class SeatPool {
+
+    @Id
+    private Long eventId;
+
+    private LocalDateTime lastLeaseAt;
+}
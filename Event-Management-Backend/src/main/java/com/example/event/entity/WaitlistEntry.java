@@ -0,0 +1,32 @@
+package com.example.event.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+
+@Entity
+@Getter @Setter
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"user_id","event_id"}),
+       indexes = @Index(name = "idx_waitlist_event_seq", columnList = "event_id, seq"))
+public class WaitlistEntry {
+
+    // Pooled sequence (not IDENTITY) so Hibernate can batch inserts
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "waitlist_entry_seq")
+    @SequenceGenerator(name = "waitlist_entry_seq", sequenceName = "waitlist_entry_seq", allocationSize = 50)
+    private Long id;
+
+    // Place in this event's queue, from the event's waitlist counter: FIFO order,
+    // and a position is seq minus the head's seq
+    private Long seq;
+
+    @ManyToOne(optional = false)
+    private User user;
+
+    @ManyToOne(optional = false)
+    private Event event;
+
+    private LocalDateTime joinedAt;
+}
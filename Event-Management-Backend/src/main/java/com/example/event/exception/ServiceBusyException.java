@@ -0,0 +1,19 @@
+package com.example.event.exception;
+
+public class ServiceBusyException extends RuntimeException {
+    /**
+	 * 
+	 */
+	private static final long serialVersionUID = 1L;
+
+	private final long retryAfterSeconds;
+
+	public ServiceBusyException(String msg, long retryAfterSeconds) {
+        super(msg);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+	public long getRetryAfterSeconds() {
+		return retryAfterSeconds;
+	}
+}
@@ -0,0 +1,41 @@
+package com.example.event.repository;
+
+import com.example.event.dto.EventSeats;
+import com.example.event.entity.ArchivedEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ArchivedEventRepository extends JpaRepository<ArchivedEvent, Long> {
+
+    // Copies the live row with its registration count; soft-deleted events are left to EventPurger
+    @Modifying
+    @Query(value = """
+            insert into event_archive (id, title, description, date_time, venue, max_capacity,
+                                       speaker, category, registered, archived_at)
+            select e.id, e.title, e.description, e.date_time, e.venue, e.max_capacity,
+                   e.speaker, e.category,
+                   (select count(*) from registration r where r.event_id = e.id), :at
+            from event e
+            where e.id = :id and e.deleted_at is null
+            """, nativeQuery = true)
+    int copyFromLive(@Param("id") Long id, @Param("at") LocalDateTime at);
+
+    @Query("""
+            select new com.example.event.dto.EventSeats(
+                e.id, e.title, e.venue, e.maxCapacity, e.registered,
+                e.category, e.speaker, e.dateTime, e.description)
+            from ArchivedEvent e
+            where e.id > :afterId
+            order by e.id
+            """)
+    List<EventSeats> findPage(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("select e.id from ArchivedEvent e where e.archivedAt >= :since")
+    List<Long> findIdsArchivedSince(@Param("since") LocalDateTime since);
+}
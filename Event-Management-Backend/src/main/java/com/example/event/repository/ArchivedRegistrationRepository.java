@@ -0,0 +1,33 @@
+package com.example.event.repository;
+
+import com.example.event.dto.RegistrationView;
+import com.example.event.entity.ArchivedRegistration;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface ArchivedRegistrationRepository extends JpaRepository<ArchivedRegistration, Long> {
+
+    @Modifying
+    @Query(value = """
+            insert into registration_archive (id, user_id, event_id, registered_at)
+            select r.id, r.user_id, r.event_id, r.registered_at
+            from registration r
+            where r.event_id = :eventId
+            """, nativeQuery = true)
+    int copyFromLive(@Param("eventId") Long eventId);
+
+    // Keyset on id, served by the (user_id, id) index
+    @Query("""
+            select new com.example.event.dto.RegistrationView(
+                r.id, e.id, e.title, e.venue, e.category, e.speaker, e.dateTime, r.registeredAt)
+            from ArchivedRegistration r join ArchivedEvent e on e.id = r.eventId
+            where r.userId = :userId and r.id > :afterId
+            order by r.id
+            """)
+    List<RegistrationView> findHistory(@Param("userId") Long userId, @Param("afterId") Long afterId, Limit limit);
+}
@@ -0,0 +1,24 @@
+package com.example.event.repository;
+
+import com.example.event.entity.ClusterChange;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ClusterChangeRepository extends JpaRepository<ClusterChange, Long> {
+
+    // Other nodes' changes; read-write so it reads the primary, never a lagging replica
+    @Transactional
+    @Query("select c from ClusterChange c where c.createdAt >= :since and c.nodeId <> :nodeId order by c.id")
+    List<ClusterChange> findSince(@Param("since") LocalDateTime since, @Param("nodeId") String nodeId);
+
+    @Transactional
+    @Modifying
+    @Query("delete from ClusterChange c where c.createdAt < :before")
+    int deleteOlderThan(@Param("before") LocalDateTime before);
+}
@@ -1,8 +1,82 @@
 package com.example.event.repository;
 
+import com.example.event.dto.EventSeats;
 import com.example.event.entity.Event;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface EventRepository extends JpaRepository<Event, Long> {
-       
+
+    // Catalog page with remaining seats, one aggregated join, keyset on id
+    @Query("""
+            select new com.example.event.dto.EventSeats(
+                e.id, e.title, e.venue, e.maxCapacity, count(r.id),
+                e.category, e.speaker, e.dateTime, e.description)
+            from Event e left join Registration r on r.event = e
+            where e.id > :afterId
+            group by e.id, e.title, e.venue, e.maxCapacity,
+                     e.category, e.speaker, e.dateTime, e.description
+            order by e.id
+            """)
+    List<EventSeats> findSeatsPage(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("""
+            select new com.example.event.dto.EventSeats(
+                e.id, e.title, e.venue, e.maxCapacity, count(r.id),
+                e.category, e.speaker, e.dateTime, e.description)
+            from Event e left join Registration r on r.event = e
+            where e.id in :ids
+            group by e.id, e.title, e.venue, e.maxCapacity,
+                     e.category, e.speaker, e.dateTime, e.description
+            """)
+    List<EventSeats> findSeatsByIds(@Param("ids") Collection<Long> ids);
+
+    // Read-write, so a node catching up on another node's change reads the primary
+    @Transactional
+    @Query("select e from Event e where e.id in :ids")
+    List<Event> findCurrent(@Param("ids") Collection<Long> ids);
+
+    // Per-event waitlist counter; the update holds the event row until commit, so
+    // concurrent joins get distinct, increasing values. Call inside a transaction
+    @Modifying
+    @Query(value = "update event set waitlist_seq = coalesce(waitlist_seq, 0) + 1 where id = :id", nativeQuery = true)
+    int bumpWaitlistSeq(@Param("id") Long id);
+
+    @Query(value = "select waitlist_seq from event where id = :id", nativeQuery = true)
+    Long findWaitlistSeq(@Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query("update Event e set e.deletedAt = :at where e.id = :id and e.deletedAt is null")
+    int markDeleted(@Param("id") Long id, @Param("at") LocalDateTime at);
+
+    // Native: soft-deleted rows are invisible to entity queries
+    @Query(value = "select id from event where deleted_at is not null", nativeQuery = true)
+    List<Long> findDeletedIds();
+
+    @Transactional
+    @Modifying
+    @Query(value = "delete from event where id = :id and deleted_at is not null", nativeQuery = true)
+    int purgeDeleted(@Param("id") Long id);
+
+    // Finished events still in the hot tier, oldest first; served by the date_time index
+    @Query("select e.id from Event e where e.dateTime < :before order by e.dateTime")
+    List<Long> findIdsEndedBefore(@Param("before") LocalDateTime before, Limit limit);
+
+    // Held until the archive commits; conflicts with the key-share lock a registration insert takes on its event
+    @Query(value = "select id from event where id = :id and deleted_at is null for update", nativeQuery = true)
+    Optional<Long> lockForArchive(@Param("id") Long id);
+
+    @Modifying
+    @Query(value = "delete from event where id = :id and deleted_at is null", nativeQuery = true)
+    int deleteArchived(@Param("id") Long id);
 }
@@ -1,25 +1,120 @@
 package com.example.event.repository;
 
+import com.example.event.dto.RegistrationView;
+import com.example.event.dto.StudentRow;
 import com.example.event.entity.Event;
 import com.example.event.entity.Registration;
 import com.example.event.entity.User;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 public interface RegistrationRepository extends JpaRepository<Registration, Long> {
 
-    boolean existsByUserAndEvent(User user, Event event);
+    // Reads only (user_id, event_id), which the unique constraint's index covers: index-only scan
+    @Query("select r.event.id from Registration r where r.user.id = :userId and r.event.id = :eventId")
+    Optional<Long> findRegisteredEventId(@Param("userId") Long userId, @Param("eventId") Long eventId);
+
+    default boolean isRegistered(Long userId, Long eventId) {
+        return findRegisteredEventId(userId, eventId).isPresent();
+    }
 
     List<Registration> findByUser(User user);
 
+    // Set-based deletes: no entity load, no dirty checking; callers get the row count
+    @Modifying
+    @Query("delete from Registration r where r.user.id = :userId and r.event.id = :eventId")
+    int deleteByUserAndEvent(@Param("userId") Long userId, @Param("eventId") Long eventId);
 
-    Optional<Registration> findByIdAndUser(Long id, User user);
+    @Modifying
+    @Query("delete from Registration r where r.id = :id and r.user.id = :userId")
+    int deleteByIdAndUser(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Query("select r.event.id from Registration r where r.id = :id and r.user.id = :userId")
+    Optional<Long> findEventIdByIdAndUser(@Param("id") Long id, @Param("userId") Long userId);
     
     long countByEvent(Event event);
 
+    long countByEventId(Long eventId);
+
     List<Registration> findByEvent(Event event);
     
     Optional<Registration> findByUserAndEvent(User user, Event event);
+
+    @Query("select r.user.id from Registration r where r.event = :event and r.user.id in :userIds")
+    List<Long> findRegisteredUserIds(@Param("event") Event event, @Param("userIds") Collection<Long> userIds);
+
+    @Query("""
+            select new com.example.event.dto.RegistrationView(
+                r.id, e.id, e.title, e.venue, e.category, e.speaker, e.dateTime, r.registeredAt)
+            from Registration r join r.event e
+            where r.user.id = :userId
+            order by r.id
+            """)
+    List<RegistrationView> findViewsByUser(@Param("userId") Long userId);
+
+    @Query("""
+            select new com.example.event.dto.RegistrationView(
+                r.id, e.id, e.title, e.venue, e.category, e.speaker, e.dateTime, r.registeredAt)
+            from Registration r join r.event e
+            where r.id = :id and r.user.id = :userId
+            """)
+    Optional<RegistrationView> findView(@Param("id") Long id, @Param("userId") Long userId);
+
+    // FK column only, no join
+    @Query("select r.event.id from Registration r where r.user.id = :userId")
+    List<Long> findEventIdsByUser(@Param("userId") Long userId);
+
+    @Query("""
+            select new com.example.event.dto.StudentRow(u.id, u.name, u.email, r.registeredAt)
+            from Registration r join r.user u
+            where r.event.id = :eventId
+            order by r.id
+            """)
+    List<StudentRow> findStudents(@Param("eventId") Long eventId);
+
+    // Forward-only cursor over an event's students; consume inside a read-only transaction
+    @Query("""
+            select new com.example.event.dto.StudentRow(u.id, u.name, u.email, r.registeredAt)
+            from Registration r join r.user u
+            where r.event.id = :eventId
+            order by r.id
+            """)
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    Stream<StudentRow> streamStudents(@Param("eventId") Long eventId);
+
+    // Seeds and reconciles the seat ledger: read-write, so always the primary
+    @Transactional
+    @Query("select r.event.id, count(r) from Registration r group by r.event.id")
+    List<Object[]> countGroupedByEvent();
+
+    // One bounded chunk per call and per transaction; repeat until it returns 0
+    @Transactional
+    @Modifying
+    @Query(value = """
+            delete from registration where id in (
+                select id from registration where event_id = :eventId limit :chunk)
+            """, nativeQuery = true)
+    int deleteChunkByEvent(@Param("eventId") Long eventId, @Param("chunk") int chunk);
+
+    // Archiving: bounded by the event's capacity, so one statement in the caller's transaction.
+    // Only rows already copied to the archive go; a later one makes the event delete fail instead
+    @Modifying
+    @Query(value = """
+            delete from registration
+            where event_id = :eventId
+              and id in (select a.id from registration_archive a where a.event_id = :eventId)
+            """, nativeQuery = true)
+    int deleteArchivedByEvent(@Param("eventId") Long eventId);
 }
@@ -0,0 +1,46 @@
+package com.example.event.repository;
+
+import com.example.event.entity.SeatLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface SeatLeaseRepository extends JpaRepository<SeatLease, Long> {
+
+    Optional<SeatLease> findByEventIdAndNodeId(Long eventId, String nodeId);
+
+    @Query("select coalesce(sum(l.seats), 0) from SeatLease l where l.eventId = :eventId")
+    long sumSeats(@Param("eventId") Long eventId);
+
+    @Query("select coalesce(sum(l.seats), 0) from SeatLease l where l.eventId = :eventId and l.nodeId <> :nodeId")
+    long sumSeatsExcept(@Param("eventId") Long eventId, @Param("nodeId") String nodeId);
+
+    @Modifying
+    @Query("update SeatLease l set l.seats = :seats, l.expiresAt = :expiresAt where l.eventId = :eventId and l.nodeId = :nodeId")
+    int renew(@Param("eventId") Long eventId, @Param("nodeId") String nodeId,
+              @Param("seats") int seats, @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("delete from SeatLease l where l.eventId = :eventId and l.expiresAt < :now")
+    int deleteExpired(@Param("eventId") Long eventId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("delete from SeatLease l where l.expiresAt < :before")
+    int deleteExpiredBefore(@Param("before") LocalDateTime before);
+
+    @Modifying
+    @Query("delete from SeatLease l where l.eventId = :eventId and l.nodeId = :nodeId")
+    int deleteByEventAndNode(@Param("eventId") Long eventId, @Param("nodeId") String nodeId);
+
+    @Modifying
+    @Query("delete from SeatLease l where l.nodeId = :nodeId")
+    int deleteByNode(@Param("nodeId") String nodeId);
+
+    @Modifying
+    @Query("delete from SeatLease l where l.eventId = :eventId")
+    int deleteByEvent(@Param("eventId") Long eventId);
+}
@@ -0,0 +1,23 @@
+package com.example.event.repository;
+
+import com.example.event.entity.SeatPool;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface SeatPoolRepository extends JpaRepository<SeatPool, Long> {
+
+    // Idempotent: concurrent first leases on different nodes both succeed
+    @Modifying
+    @Query(value = "insert into seat_pool (event_id) values (:eventId) on conflict do nothing", nativeQuery = true)
+    int ensure(@Param("eventId") Long eventId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from SeatPool p where p.eventId = :eventId")
+    Optional<SeatPool> lock(@Param("eventId") Long eventId);
+}
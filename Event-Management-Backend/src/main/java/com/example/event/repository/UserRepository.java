@@ -2,9 +2,17 @@ package com.example.event.repository;
 
 import com.example.event.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+    // Read-write, so always the primary: a user who just signed up must be found by their first
+    // authenticated request and by the duplicate-email check. Steady-state JWT requests hit PrincipalCache.
+    @Transactional
     Optional<User> findByEmail(String email);
+
+    List<User> findByEmailIn(Collection<String> emails);
 }
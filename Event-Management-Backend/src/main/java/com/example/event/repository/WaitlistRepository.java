@@ -0,0 +1,47 @@
+package com.example.event.repository;
+
+import com.example.event.entity.Event;
+import com.example.event.entity.User;
+import com.example.event.entity.WaitlistEntry;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Optional;
+
+public interface WaitlistRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    Optional<WaitlistEntry> findByUserAndEvent(User user, Event event);
+
+    // First entry of the (event_id, seq) index: one index probe, however long the queue
+    @Query("select min(w.seq) from WaitlistEntry w where w.event = :event")
+    Optional<Long> findHeadSeq(@Param("event") Event event);
+
+    // Head of the queue, locked; rows locked by a concurrent promotion are skipped (-2 = SKIP LOCKED)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    Optional<WaitlistEntry> findFirstByEventOrderBySeqAsc(Event event);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            delete from waitlist_entry where id in (
+                select id from waitlist_entry where event_id = :eventId limit :chunk)
+            """, nativeQuery = true)
+    int deleteChunkByEvent(@Param("eventId") Long eventId, @Param("chunk") int chunk);
+
+    @Modifying
+    @Query(value = "delete from waitlist_entry where event_id = :eventId", nativeQuery = true)
+    int deleteAllByEvent(@Param("eventId") Long eventId);
+
+    @Modifying
+    @Query(value = "delete from waitlist_entry where event_id = :eventId and user_id in (:userIds)", nativeQuery = true)
+    int deleteByEventAndUsers(@Param("eventId") Long eventId, @Param("userIds") Collection<Long> userIds);
+}
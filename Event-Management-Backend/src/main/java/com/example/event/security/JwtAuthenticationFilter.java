@@ -3,9 +3,14 @@ package com.example.event.security;
 import com.example.event.entity.User;
 import com.example.event.repository.UserRepository;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.*;
 import jakarta.servlet.http.*;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.*;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -19,8 +24,14 @@ import java.util.List;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+
+    private static final String SSE_PATH = "/api/events/seats/stream";
+
     private final JwtUtil jwtUtil;
     private final UserRepository userRepo;
+    private final PrincipalCache principalCache;
+    private final MeterRegistry registry;
 
     @Override
     protected void doFilterInternal(
@@ -30,17 +41,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     ) throws ServletException, IOException {
 
         String header = request.getHeader("Authorization");
+        boolean fromQuery = header == null || !header.startsWith("Bearer ");
+        String token = fromQuery ? streamToken(request) : header.substring(7);
 
-        if (header != null && header.startsWith("Bearer ")) {
-
-            String token = header.substring(7);
+        if (token != null) {
 
+            Timer.Sample sample = Timer.start(registry);
+            String result = "invalid";
             try {
                 Claims claims = jwtUtil.extractClaims(token);
+                // Session tokens never ride in a URL; stream tokens are good for nothing else
+                boolean streamScoped = JwtUtil.STREAM_SCOPE.equals(claims.get(JwtUtil.SCOPE_CLAIM, String.class));
+                if (streamScoped != fromQuery)
+                    throw new JwtException("Token not valid for this transport");
+                result = "valid";
                 String email = claims.getSubject();
                 String role = claims.get("role", String.class);
 
-                User user = userRepo.findByEmail(email).orElse(null);
+                User user = principalCache.get(email,
+                        () -> userRepo.findByEmail(email).orElse(null));
 
                 if (user != null) {
                     UsernamePasswordAuthenticationToken auth =
@@ -52,11 +71,28 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     SecurityContextHolder.getContext().setAuthentication(auth);
                 }
 
+            } catch (JwtException | IllegalArgumentException ex) {
+                // Expired or tampered tokens are routine: request continues unauthenticated
+                log.debug("Rejected JWT on {}: {}", request.getRequestURI(), ex.getMessage());
             } catch (Exception ex) {
-                ex.printStackTrace(); // 🔥 now you SEE the error
+                result = "error";
+                log.warn("JWT authentication failed on {}", request.getRequestURI(), ex);
+            } finally {
+                sample.stop(Timer.builder("auth.jwt.verify")
+                        .description("JWT parse, signature check and principal lookup")
+                        .tag("result", result)
+                        .register(registry));
             }
         }
 
         chain.doFilter(request, response);
     }
+
+    // Browsers' EventSource cannot send headers: the seat stream takes a stream token as ?access_token=
+    private String streamToken(HttpServletRequest request) {
+        if (SSE_PATH.equals(request.getRequestURI()))
+            return request.getParameter("access_token");
+
+        return null;
+    }
 }
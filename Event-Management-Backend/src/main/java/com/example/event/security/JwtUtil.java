@@ -1,6 +1,7 @@
 package com.example.event.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -9,14 +10,30 @@ import org.springframework.stereotype.Component;
 
 import java.util.Date;
 
+import javax.crypto.SecretKey;
+
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secret;
+    // Marks tokens that are only good for opening the seat stream
+    public static final String SCOPE_CLAIM = "scope";
+    public static final String STREAM_SCOPE = "seats-stream";
+
+    private final long expiration;
+    private final long streamExpiration;
+
+    // Key and parser are immutable and thread-safe: build them once
+    private final SecretKey key;
+    private final JwtParser parser;
 
-    @Value("${jwt.expiration}")
-    private long expiration;
+    public JwtUtil(@Value("${jwt.secret}") String secret,
+                   @Value("${jwt.expiration}") long expiration,
+                   @Value("${jwt.stream-expiration:60000}") long streamExpiration) {
+        this.expiration = expiration;
+        this.streamExpiration = streamExpiration;
+        this.key = Keys.hmacShaKeyFor(secret.getBytes());
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+    }
 
     public String generateToken(String email, String role) {
 
@@ -25,19 +42,25 @@ public class JwtUtil {
                 .claim("role", role)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(
-                        Keys.hmacShaKeyFor(secret.getBytes()),
-                        SignatureAlgorithm.HS256
-                )
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    // Short-lived, stream-only: it travels in a query string, which ends up in access logs
+    public String generateStreamToken(String email, String role) {
+
+        return Jwts.builder()
+                .setSubject(email)
+                .claim("role", role)
+                .claim(SCOPE_CLAIM, STREAM_SCOPE)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + streamExpiration))
+                .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     public Claims extractClaims(String token) {
 
-        return Jwts.parserBuilder()
-                .setSigningKey(Keys.hmacShaKeyFor(secret.getBytes()))
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 }
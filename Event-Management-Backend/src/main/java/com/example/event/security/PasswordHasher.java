@@ -0,0 +1,90 @@
+package com.example.event.security;
+
+import com.example.event.exception.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs BCrypt on a dedicated core-sized pool with a bounded queue, so a login
+ * storm cannot occupy every servlet worker. When the queue is full callers get
+ * a ServiceBusyException (503 + Retry-After) instead of waiting.
+ *
+ * auth.bcrypt measures hashing time on the pool; queue depth and activity
+ * are published as executor.* metrics tagged name=bcrypt.
+ */
+@Component
+public class PasswordHasher {
+
+    private final PasswordEncoder encoder;
+    private final ThreadPoolExecutor pool;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    public PasswordHasher(PasswordEncoder encoder,
+                          MeterRegistry registry,
+                          @Value("${auth.bcrypt.threads:0}") int threads,
+                          @Value("${auth.bcrypt.queue-capacity:256}") int queueCapacity) {
+        this.encoder = encoder;
+        this.encodeTimer = Timer.builder("auth.bcrypt").tag("op", "encode").register(registry);
+        this.matchesTimer = Timer.builder("auth.bcrypt").tag("op", "matches").register(registry);
+        this.rejected = Counter.builder("auth.bcrypt.rejected")
+                .description("Hash requests refused because the queue was full")
+                .register(registry);
+
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger seq = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "bcrypt-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        new ExecutorServiceMetrics(pool, "bcrypt", Tags.empty()).bindTo(registry);
+    }
+
+    public CompletableFuture<String> encode(String raw) {
+        try {
+            return CompletableFuture.supplyAsync(() -> encodeTimer.record(() -> encoder.encode(raw)), pool);
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw new ServiceBusyException("Server busy, please retry", 1);
+        }
+    }
+
+    public CompletableFuture<Boolean> matches(String raw, String encoded) {
+        try {
+            return CompletableFuture.supplyAsync(() -> matchesTimer.record(() -> encoder.matches(raw, encoded)), pool);
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw new ServiceBusyException("Server busy, please retry", 1);
+        }
+    }
+
+    // True when the stored hash was made with a lower cost than the configured one
+    public boolean needsRehash(String encoded) {
+        return encoder.upgradeEncoding(encoded);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+}
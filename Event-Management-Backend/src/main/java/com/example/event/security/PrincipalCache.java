@@ -0,0 +1,102 @@
+package com.example.event.security;
+
+import com.example.event.entity.User;
+import com.example.event.util.BoundedMaps;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, TTL-evicting cache of authenticated principals keyed by token subject,
+ * so steady-state requests skip the users lookup in JwtAuthenticationFilter.
+ *
+ * Every invalidation takes a new generation and stamps it on the subject and
+ * the user id. A load only caches its result if nothing it covers was stamped
+ * after the load began, so a row read just before a change cannot be put back
+ * once the change has been invalidated.
+ */
+@Component
+public class PrincipalCache {
+
+    private record Entry(User user, long expiresAt) {}
+
+    private record Stamp(long generation, long expiresAt) {}
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Stamp> subjectStamps = new ConcurrentHashMap<>();
+    private final Map<Long, Stamp> idStamps = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private volatile long clearedAt;
+    private final int maxSize;
+    private final long ttlMillis;
+
+    public PrincipalCache(@Value("${auth.principal-cache.max-size:10000}") int maxSize,
+                          @Value("${auth.principal-cache.ttl:300000}") long ttlMillis) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+    }
+
+    // Returns the cached user, or loads and caches it. Missing users are not cached.
+    public User get(String subject, Supplier<User> loader) {
+        long now = System.currentTimeMillis();
+
+        Entry e = entries.get(subject);
+        if (e != null && e.expiresAt() > now) return e.user();
+
+        long loadedAt = generation.get();
+        User user = loader.get();
+        if (user == null) {
+            entries.remove(subject);
+            return null;
+        }
+
+        // Invalidations stamp before they remove: either this sees the stamp, or the removal follows the put
+        entries.compute(subject, (k, cur) ->
+                invalidatedSince(loadedAt, k, user.getId()) ? cur : new Entry(user, now + ttlMillis));
+        // Any principal can be dropped: it is loaded again on its next request
+        BoundedMaps.trim(entries, maxSize, now, Entry::expiresAt, cached -> true);
+        return user;
+    }
+
+    public void invalidate(String subject) {
+        long now = System.currentTimeMillis();
+        stamp(subjectStamps, subject, generation.incrementAndGet(), now);
+        entries.remove(subject);
+    }
+
+    // Users are keyed by email, which may itself have changed: match on id
+    public void invalidate(User user) {
+        if (user.getEmail() != null) invalidate(user.getEmail());
+        if (user.getId() != null) invalidateId(user.getId());
+    }
+
+    // For changes seen on another node, where only the id is known
+    public void invalidateId(Long userId) {
+        long now = System.currentTimeMillis();
+        stamp(idStamps, userId, generation.incrementAndGet(), now);
+        entries.values().removeIf(e -> userId.equals(e.user().getId()));
+    }
+
+    public void clear() {
+        clearedAt = generation.incrementAndGet();
+        entries.clear();
+    }
+
+    private boolean invalidatedSince(long loadedAt, String subject, Long userId) {
+        if (clearedAt > loadedAt) return true;
+        Stamp s = subjectStamps.get(subject);
+        if (s != null && s.generation() > loadedAt) return true;
+        Stamp i = userId == null ? null : idStamps.get(userId);
+        return i != null && i.generation() > loadedAt;
+    }
+
+    // A stamp only has to outlive the loads already running when it was taken
+    private <K> void stamp(Map<K, Stamp> stamps, K key, long gen, long now) {
+        stamps.put(key, new Stamp(gen, now + ttlMillis));
+        BoundedMaps.trim(stamps, maxSize, now, Stamp::expiresAt, s -> true);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.event.security;
+
+import com.example.event.entity.User;
+import com.example.event.service.ClusterChangeFeed;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// JPA entity listener (instantiated through Spring's bean container) on User
+@RequiredArgsConstructor
+public class PrincipalCacheInvalidator {
+
+    private static final Logger log = LoggerFactory.getLogger(PrincipalCacheInvalidator.class);
+
+    private final PrincipalCache cache;
+    // Present in clustered mode: the other nodes drop their copy too
+    private final ObjectProvider<ClusterChangeFeed> cluster;
+
+    // Fires at flush, before commit: a request in between would reload and cache the old row
+    @PostUpdate
+    @PostRemove
+    public void userChanged(User user) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            committed(user);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                committed(user);
+            }
+        });
+    }
+
+    private void committed(User user) {
+        cache.invalidate(user);
+        try {
+            cluster.ifAvailable(feed -> feed.userChanged(user.getId()));
+        } catch (RuntimeException ex) {
+            // The change is committed; other nodes pick it up when their cached copy expires
+            log.warn("Announcing the change of user {} to other nodes failed", user.getId(), ex);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.event.security;
+
+import com.example.event.entity.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Admission control right after JwtAuthenticationFilter: every authenticated
+ * API call draws from its user's bucket, and registration writes also draw
+ * from the target event's bucket. Over-limit requests get a 429 with
+ * Retry-After before any controller, transaction or connection is touched.
+ *
+ * Ticket long-polls and seat-stream (re)connects are how clients wait, not
+ * work they ask for: they draw from a separate per-user bucket so waiting
+ * never uses up the budget for real calls.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    // POST /api/registrations/{eventId} and /api/registrations/{eventId}/waitlist
+    private static final Pattern EVENT_WRITE = Pattern.compile("^/api/registrations/(\\d+)(/waitlist)?$");
+
+    // GET /api/registrations/tickets/{ticketId}, /api/events/seats/stream and /api/events/seats/token
+    private static final Pattern WAITING = Pattern.compile("^/api/(registrations/tickets/[^/]+|events/seats/(stream|token))$");
+
+    private final boolean enabled;
+    private final TokenBuckets users;
+    private final TokenBuckets events;
+    private final TokenBuckets polls;
+    private final Counter userRejected;
+    private final Counter eventRejected;
+    private final Counter pollRejected;
+
+    public RateLimitFilter(@Value("${app.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${app.rate-limit.user.rate:10}") double userRate,
+                           @Value("${app.rate-limit.user.burst:20}") int userBurst,
+                           @Value("${app.rate-limit.event.rate:200}") double eventRate,
+                           @Value("${app.rate-limit.event.burst:400}") int eventBurst,
+                           @Value("${app.rate-limit.poll.rate:1}") double pollRate,
+                           @Value("${app.rate-limit.poll.burst:10}") int pollBurst,
+                           @Value("${app.rate-limit.idle-sweep:60000}") long idleSweepMillis,
+                           MeterRegistry registry) {
+        this.enabled = enabled;
+        this.users = new TokenBuckets(userRate, userBurst, idleSweepMillis);
+        this.events = new TokenBuckets(eventRate, eventBurst, idleSweepMillis);
+        this.polls = new TokenBuckets(pollRate, pollBurst, idleSweepMillis);
+
+        this.userRejected = registry.counter("app.rate-limit.rejected", "scope", "user");
+        this.eventRejected = registry.counter("app.rate-limit.rejected", "scope", "event");
+        this.pollRejected = registry.counter("app.rate-limit.rejected", "scope", "poll");
+        Gauge.builder("app.rate-limit.buckets", users, TokenBuckets::size).tag("scope", "user").register(registry);
+        Gauge.builder("app.rate-limit.buckets", events, TokenBuckets::size).tag("scope", "event").register(registry);
+        Gauge.builder("app.rate-limit.buckets", polls, TokenBuckets::size).tag("scope", "poll").register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain chain
+    ) throws ServletException, IOException {
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        User user = auth != null && auth.getPrincipal() instanceof User u ? u : null;
+        String uri = request.getRequestURI();
+
+        if (user != null && "GET".equals(request.getMethod()) && WAITING.matcher(uri).matches()) {
+            long wait = polls.tryAcquire(user.getId());
+            if (wait > 0) {
+                pollRejected.increment();
+                reject(response, wait);
+                return;
+            }
+            chain.doFilter(request, response);
+            return;
+        }
+
+        if (user != null) {
+            long wait = users.tryAcquire(user.getId());
+            if (wait > 0) {
+                userRejected.increment();
+                reject(response, wait);
+                return;
+            }
+        }
+
+        if ("POST".equals(request.getMethod())) {
+            Matcher m = EVENT_WRITE.matcher(uri);
+            if (m.matches()) {
+                long wait = events.tryAcquire(Long.valueOf(m.group(1)));
+                if (wait > 0) {
+                    // Turned away by the event, not by the user: the user keeps the token
+                    if (user != null) users.refund(user.getId());
+                    eventRejected.increment();
+                    reject(response, wait);
+                    return;
+                }
+            }
+        }
+
+        chain.doFilter(request, response);
+    }
+
+    private static void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long seconds = Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(seconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"success\":false,\"message\":\"Too many requests, please retry\",\"data\":null}");
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.event.security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets kept as a single AtomicLong per key (GCRA): the value is the
+ * time at which the bucket would be full again. Acquiring is one CAS, and a
+ * bucket whose time has passed is full and idle, so it can be dropped and
+ * recreated on demand without changing behaviour.
+ */
+public class TokenBuckets {
+
+    private final Map<Object, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final long sweepEveryNanos;
+    private final AtomicLong nextSweep;
+
+    public TokenBuckets(double ratePerSecond, int burst, long sweepEveryMillis) {
+        this.intervalNanos = (long) (1_000_000_000L / ratePerSecond);
+        this.burstNanos = intervalNanos * Math.max(1, burst);
+        this.sweepEveryNanos = sweepEveryMillis * 1_000_000L;
+        this.nextSweep = new AtomicLong(System.nanoTime() + sweepEveryNanos);
+    }
+
+    /**
+     * Takes one token. Returns 0 when granted, otherwise the nanoseconds until
+     * a token will be available.
+     */
+    public long tryAcquire(Object key) {
+        long now = System.nanoTime();
+        maybeSweep(now);
+
+        AtomicLong tat = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        while (true) {
+            long current = tat.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long wait = next - now - burstNanos;
+            if (wait > 0) return wait;
+            if (tat.compareAndSet(current, next)) return 0;
+        }
+    }
+
+    // Gives back a token taken by tryAcquire when a later check rejected the request anyway
+    public void refund(Object key) {
+        AtomicLong tat = buckets.get(key);
+        if (tat != null) tat.addAndGet(-intervalNanos);
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    // Full buckets carry no state worth keeping
+    private void maybeSweep(long now) {
+        long due = nextSweep.get();
+        if (now - due < 0 || !nextSweep.compareAndSet(due, now + sweepEveryNanos)) return;
+        buckets.values().removeIf(tat -> tat.get() - now <= 0);
+    }
+}
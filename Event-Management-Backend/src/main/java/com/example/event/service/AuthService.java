@@ -1,28 +1,46 @@
 package com.example.event.service;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 import com.example.event.dto.AuthRequest;
 import com.example.event.dto.RegisterRequest;
 import com.example.event.entity.User;
 import com.example.event.exception.BadRequestException;
+import com.example.event.exception.ServiceBusyException;
 import com.example.event.repository.UserRepository;
 import com.example.event.security.JwtUtil;
-
-import lombok.RequiredArgsConstructor;
+import com.example.event.security.PasswordHasher;
 
 @Service
-@RequiredArgsConstructor
 public class AuthService {
 
+    private static final Logger log = LoggerFactory.getLogger(AuthService.class);
+
     private final UserRepository repo;
-    private final PasswordEncoder encoder;
+    private final PasswordHasher hasher;
     private final JwtUtil jwt;
+    private final Executor io;
+
+    // Saves hop to the task executor so DB I/O never holds one of the few BCrypt threads
+    public AuthService(UserRepository repo,
+                       PasswordHasher hasher,
+                       JwtUtil jwt,
+                       @Qualifier("applicationTaskExecutor") Executor io) {
+        this.repo = repo;
+        this.hasher = hasher;
+        this.jwt = jwt;
+        this.io = io;
+    }
 
-    public void register(RegisterRequest r) {
+    // Hashing runs on the BCrypt pool; the servlet thread is released meanwhile
+    public CompletableFuture<Void> register(RegisterRequest r) {
 
         if (r == null || r.getEmail() == null || r.getPassword() == null || r.getRole() == null) {
             throw new BadRequestException("Invalid registration data");
@@ -32,16 +50,18 @@ public class AuthService {
             throw new BadRequestException("Email already exists");
         }
 
-        User u = new User();
-        u.setName(r.getName());
-        u.setEmail(r.getEmail());
-        u.setPassword(encoder.encode(r.getPassword()));
-        u.setRole(r.getRole());
+        return hasher.encode(r.getPassword()).thenAcceptAsync(hash -> {
+            User u = new User();
+            u.setName(r.getName());
+            u.setEmail(r.getEmail());
+            u.setPassword(hash);
+            u.setRole(r.getRole());
 
-        repo.save(u);
+            repo.save(u);
+        }, io);
     }
 
-    public Map<String, String> login(AuthRequest r) {
+    public CompletableFuture<Map<String, String>> login(AuthRequest r) {
 
         if (r == null || r.getEmail() == null || r.getPassword() == null) {
             throw new BadRequestException("Invalid login data");
@@ -50,13 +70,34 @@ public class AuthService {
         User u = repo.findByEmail(r.getEmail())
                 .orElseThrow(() -> new BadRequestException("Invalid email or password"));
 
-        if (!encoder.matches(r.getPassword(), u.getPassword())) {
-            throw new BadRequestException("Invalid email or password");
-        }
+        return hasher.matches(r.getPassword(), u.getPassword()).thenApply(ok -> {
+            if (!ok) {
+                throw new BadRequestException("Invalid email or password");
+            }
 
-        return Map.of(
-                "token", jwt.generateToken(u.getEmail(), u.getRole().name()),
-                "role", u.getRole().name()
-        );
+            if (hasher.needsRehash(u.getPassword())) {
+                rehash(u, r.getPassword());
+            }
+
+            return Map.of(
+                    "token", jwt.generateToken(u.getEmail(), u.getRole().name()),
+                    "role", u.getRole().name()
+            );
+        });
+    }
+
+    // Configured BCrypt cost went up: store a fresh hash, best effort
+    private void rehash(User u, String raw) {
+        try {
+            hasher.encode(raw).thenAcceptAsync(hash -> {
+                u.setPassword(hash);
+                repo.save(u);
+            }, io).exceptionally(ex -> {
+                log.warn("Password rehash failed for user {}", u.getId(), ex);
+                return null;
+            });
+        } catch (ServiceBusyException ex) {
+            // Pool is saturated; try again on the next login
+        }
     }
 }
@@ -0,0 +1,131 @@
+package com.example.event.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.event.dto.BulkRegistrationResult;
+import com.example.event.dto.BulkRegistrationResult.Outcome;
+import com.example.event.entity.Event;
+import com.example.event.exception.BadRequestException;
+import com.example.event.exception.ResourceNotFoundException;
+import com.example.event.repository.EventRepository;
+
+/**
+ * Admin bulk enrollment. Rows are taken in chunks of the JDBC batch size;
+ * each chunk leases its seats first (see SeatLedger.prepare) and is then
+ * committed on its own by BulkRegistrationWriter. If an import fails part
+ * way, the chunks before it stay committed and a retry of the same list
+ * reports them as ALREADY_REGISTERED.
+ */
+@Service
+public class BulkRegistrationService {
+
+    private static final int MAX_ROWS = 50_000;
+
+    private final EventRepository eventRepo;
+    private final SeatLedger ledger;
+    private final BulkRegistrationWriter writer;
+    private final int chunkSize;
+
+    public BulkRegistrationService(EventRepository eventRepo, SeatLedger ledger, BulkRegistrationWriter writer,
+                                   @Value("${app.bulk.chunk-size:${spring.jpa.properties.hibernate.jdbc.batch_size:100}}") int chunkSize) {
+        this.eventRepo = eventRepo;
+        this.ledger = ledger;
+        this.writer = writer;
+        this.chunkSize = chunkSize;
+    }
+
+    // One email per line; a header line or extra columns after a comma are ignored
+    public BulkRegistrationResult importCsv(Long eventId, BufferedReader reader) throws IOException {
+        Import run = new Import(event(eventId));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            int comma = line.indexOf(',');
+            String email = (comma >= 0 ? line.substring(0, comma) : line).trim();
+            if (email.isEmpty() || !email.contains("@")) continue;
+
+            run.add(email);
+        }
+        return run.finish();
+    }
+
+    public BulkRegistrationResult importEmails(Long eventId, List<String> emails) {
+        if (emails != null && emails.size() > MAX_ROWS)
+            throw new BadRequestException("Too many rows, max " + MAX_ROWS);
+
+        Import run = new Import(event(eventId));
+        if (emails != null) emails.forEach(run::add);
+        return run.finish();
+    }
+
+    private Event event(Long eventId) {
+        return eventRepo.findById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found"));
+    }
+
+    // Rows are held until their chunk is written, so the result keeps input order
+    private class Import {
+
+        private final Event event;
+        private final BulkRegistrationResult result;
+        private final Set<String> seen = new HashSet<>();
+
+        private final List<String> pendingRows = new ArrayList<>();
+        private final List<Outcome> pendingOutcomes = new ArrayList<>();
+        private final List<String> chunk = new ArrayList<>();
+        private final List<Integer> chunkRows = new ArrayList<>();
+        private int rows;
+
+        Import(Event event) {
+            this.event = event;
+            this.result = new BulkRegistrationResult(event.getId());
+        }
+
+        void add(String email) {
+            if (++rows > MAX_ROWS)
+                throw new BadRequestException("Too many rows, max " + MAX_ROWS);
+
+            String key = email.trim();
+            pendingRows.add(email);
+            if (!seen.add(key)) {
+                pendingOutcomes.add(Outcome.DUPLICATE);
+                return;
+            }
+            pendingOutcomes.add(null);
+            chunkRows.add(pendingRows.size() - 1);
+            chunk.add(key);
+
+            if (chunk.size() == chunkSize) flush();
+        }
+
+        BulkRegistrationResult finish() {
+            if (rows == 0)
+                throw new BadRequestException("No students given");
+
+            flush();
+            return result;
+        }
+
+        private void flush() {
+            if (!chunk.isEmpty()) {
+                // Outside the chunk's transaction, so a cluster node never waits on a lease while holding a connection
+                ledger.prepare(event, chunk.size());
+                List<Outcome> outcomes = writer.importChunk(event, chunk);
+                for (int n = 0; n < outcomes.size(); n++) pendingOutcomes.set(chunkRows.get(n), outcomes.get(n));
+            }
+
+            for (int i = 0; i < pendingRows.size(); i++) result.add(pendingRows.get(i), pendingOutcomes.get(i));
+            pendingRows.clear();
+            pendingOutcomes.clear();
+            chunk.clear();
+            chunkRows.clear();
+        }
+    }
+}
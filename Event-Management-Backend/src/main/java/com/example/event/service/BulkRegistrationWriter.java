@@ -0,0 +1,99 @@
+package com.example.event.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.event.dto.BulkRegistrationResult.Outcome;
+import com.example.event.entity.Event;
+import com.example.event.entity.Registration;
+import com.example.event.entity.Role;
+import com.example.event.entity.User;
+import com.example.event.repository.RegistrationRepository;
+import com.example.event.repository.UserRepository;
+import com.example.event.repository.WaitlistRepository;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Imports one chunk of a bulk enrollment in its own transaction: one user
+ * lookup, one duplicate lookup, one ledger reservation, batched inserts, and
+ * the new registrants taken off the event's waitlist. The persistence context
+ * never holds more than a chunk.
+ */
+@Component
+@RequiredArgsConstructor
+public class BulkRegistrationWriter {
+
+    private final UserRepository userRepo;
+    private final RegistrationRepository regRepo;
+    private final WaitlistRepository waitRepo;
+    private final SeatLedger ledger;
+    private final ApplicationEventPublisher publisher;
+    private final EntityManager em;
+
+    // Emails must be distinct; outcomes are returned in their order
+    @Transactional
+    public List<Outcome> importChunk(Event event, List<String> emails) {
+
+        Map<String, User> users = new HashMap<>();
+        for (User u : userRepo.findByEmailIn(emails)) users.put(u.getEmail(), u);
+
+        List<Long> ids = new ArrayList<>(users.size());
+        users.values().forEach(u -> ids.add(u.getId()));
+        Set<Long> registered = ids.isEmpty()
+                ? Set.of()
+                : new HashSet<>(regRepo.findRegisteredUserIds(event, ids));
+
+        Outcome[] out = new Outcome[emails.size()];
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < emails.size(); i++) {
+            User u = users.get(emails.get(i));
+
+            if (u == null) out[i] = Outcome.UNKNOWN_USER;
+            else if (u.getRole() != Role.STUDENT) out[i] = Outcome.NOT_A_STUDENT;
+            else if (registered.contains(u.getId())) out[i] = Outcome.ALREADY_REGISTERED;
+            else candidates.add(i);
+        }
+
+        // Single capacity check for the chunk; rows past the limit are rejected in input order
+        int granted = candidates.isEmpty() ? 0 : ledger.reserveUpTo(event, candidates.size());
+
+        Event eventRef = em.getReference(Event.class, event.getId());
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> enrolled = new ArrayList<>(granted);
+        for (int n = 0; n < candidates.size(); n++) {
+            int i = candidates.get(n);
+            if (n >= granted) {
+                out[i] = Outcome.EVENT_FULL;
+                continue;
+            }
+
+            User u = users.get(emails.get(i));
+            Registration r = new Registration();
+            r.setUser(u);
+            r.setEvent(eventRef);
+            r.setRegisteredAt(now);
+            em.persist(r);
+            enrolled.add(u.getId());
+            out[i] = Outcome.REGISTERED;
+        }
+
+        if (granted > 0) {
+            // Enrolled directly: they no longer wait for a seat
+            waitRepo.deleteByEventAndUsers(event.getId(), enrolled);
+            publisher.publishEvent(new CatalogChanged(event.getId()));
+        }
+
+        return List.of(out);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.event.service;
+
+// Published whenever an event or its seat count changes; listeners run after commit.
+// remote: replayed from another node by ClusterChangeFeed, so not fed back to the others
+public record CatalogChanged(Long eventId, boolean remote) {
+
+    public CatalogChanged(Long eventId) {
+        this(eventId, false);
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.event.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.event.dto.ApiResponse;
+import com.example.event.dto.CursorPage;
+import com.example.event.dto.EventSeats;
+import com.example.event.repository.EventRepository;
+
+import jakarta.annotation.PreDestroy;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * The /api/events/available pages, pre-encoded as JSON (and gzip when large),
+ * so hot catalog reads are a byte copy. Rebuilt in the background after
+ * changes and swapped in atomically; edits to existing events only
+ * re-encode the pages they live on.
+ */
+@Component
+public class CatalogSnapshot {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogSnapshot.class);
+
+    private static final int GZIP_THRESHOLD = 1024;
+    private static final String MESSAGE = "Seats Fetched Success";
+
+    public record Page(List<EventSeats> rows, Long next, byte[] json, byte[] gzip) {}
+
+    public record Hit(String etag, Page page) {}
+
+    // byAfter: keyset cursor (0 for the first page) -> page; pageOf: event id -> page
+    private record Snapshot(String etag, List<Page> pages, Map<Long, Integer> byAfter, Map<Long, Integer> pageOf) {}
+
+    private final EventRepository repo;
+    private final CatalogVersion version;
+    private final ObjectMapper mapper;
+    private final long debounceMillis;
+
+    private volatile Snapshot current;
+
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final ScheduledExecutorService builder = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "catalog-snapshot");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public CatalogSnapshot(EventRepository repo, CatalogVersion version, ObjectMapper mapper,
+                           @Value("${app.catalog.snapshot.debounce:20}") long debounceMillis) {
+        this.repo = repo;
+        this.version = version;
+        this.mapper = mapper;
+        this.debounceMillis = debounceMillis;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        builder.execute(this::rebuild);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(CatalogChanged change) {
+        dirty.add(change.eventId());
+        if (scheduled.compareAndSet(false, true))
+            builder.schedule(this::rebuild, debounceMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // Only full-size pages are pre-built; anything else goes to the database
+    public Optional<Hit> lookup(Long after, int size) {
+        Snapshot s = current;
+        if (s == null || size != EventService.MAX_PAGE_SIZE) return Optional.empty();
+
+        Integer idx = s.byAfter().get(after == null ? 0L : after);
+        return idx == null ? Optional.empty() : Optional.of(new Hit(s.etag(), s.pages().get(idx)));
+    }
+
+    private void rebuild() {
+        scheduled.set(false);
+        Set<Long> changed = new HashSet<>(dirty);
+        dirty.removeAll(changed);
+
+        try {
+            // Read the version first so a snapshot is never labelled newer than its data
+            String etag = version.etag();
+            Snapshot s = current;
+            current = (s != null && !changed.isEmpty() && s.pageOf().keySet().containsAll(changed))
+                    ? patch(s, etag, changed)
+                    : full(etag);
+        } catch (RuntimeException | IOException ex) {
+            log.warn("Catalog snapshot rebuild failed, serving from the database until the next change", ex);
+            current = null;
+        }
+    }
+
+    private Snapshot full(String etag) throws IOException {
+        List<Page> pages = new ArrayList<>();
+        Map<Long, Integer> byAfter = new HashMap<>();
+        Map<Long, Integer> pageOf = new HashMap<>();
+
+        // No read-only transaction here, so with replicas configured these pages come from the primary
+        Long after = 0L;
+        while (after != null) {
+            CursorPage<EventSeats> page = EventService.seatsPage(repo, after, EventService.MAX_PAGE_SIZE);
+            byAfter.put(after, pages.size());
+            for (EventSeats e : page.getItems()) pageOf.put(e.getId(), pages.size());
+            pages.add(encode(page.getItems(), page.getNext()));
+
+            // Same cursors the client follows: the last page has no next
+            after = page.getNext();
+        }
+        return new Snapshot(etag, List.copyOf(pages), Map.copyOf(byAfter), Map.copyOf(pageOf));
+    }
+
+    // Same ids, new values: re-query just those rows and re-encode the pages they sit on
+    private Snapshot patch(Snapshot s, String etag, Set<Long> changed) throws IOException {
+        List<EventSeats> fresh = repo.findSeatsByIds(changed);
+        if (fresh.size() != changed.size()) return full(etag);
+
+        Map<Long, EventSeats> byId = new HashMap<>();
+        for (EventSeats e : fresh) byId.put(e.getId(), e);
+
+        List<Page> pages = new ArrayList<>(s.pages());
+        Set<Integer> touched = new HashSet<>();
+        for (Long id : changed) touched.add(s.pageOf().get(id));
+
+        for (int idx : touched) {
+            List<EventSeats> rows = new ArrayList<>(pages.get(idx).rows());
+            rows.replaceAll(e -> byId.getOrDefault(e.getId(), e));
+            pages.set(idx, encode(rows, pages.get(idx).next()));
+        }
+        return new Snapshot(etag, List.copyOf(pages), s.byAfter(), s.pageOf());
+    }
+
+    private Page encode(List<EventSeats> rows, Long next) throws IOException {
+        List<EventSeats> copy = List.copyOf(rows);
+        byte[] json = mapper.writeValueAsBytes(new ApiResponse<>(true, MESSAGE, new CursorPage<>(copy, next)));
+
+        byte[] gzip = null;
+        if (json.length >= GZIP_THRESHOLD) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+            try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+                gz.write(json);
+            }
+            gzip = out.toByteArray();
+        }
+        return new Page(copy, next, json, gzip);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        builder.shutdownNow();
+    }
+}
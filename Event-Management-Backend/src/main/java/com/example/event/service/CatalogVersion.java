@@ -0,0 +1,31 @@
+package com.example.event.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Monotonic version of the event catalog (events and seat counts), bumped after
+ * every committed change. Starts from the boot time so ETags issued by an
+ * earlier process are never mistaken for current ones.
+ */
+@Component
+public class CatalogVersion {
+
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(CatalogChanged change) {
+        version.incrementAndGet();
+    }
+
+    public long current() {
+        return version.get();
+    }
+
+    // Strong validator for any catalog representation
+    public String etag() {
+        return "\"c" + version.get() + "\"";
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.event.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.event.entity.ClusterChange;
+import com.example.event.entity.Event;
+import com.example.event.repository.ClusterChangeRepository;
+import com.example.event.repository.EventRepository;
+import com.example.event.security.PrincipalCache;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Carries catalog changes between nodes in clustered seat mode. The version
+ * counter, the pre-encoded snapshot, the SSE fan-out, the search index and the
+ * seat estimates of every node only react to local CatalogChanged events; with
+ * several nodes behind a load balancer each would otherwise keep serving what
+ * it last saw itself.
+ *
+ * Every local change also writes a cluster_change row in the same transaction.
+ * Each node polls the rows other nodes wrote, reloads those events from the
+ * primary, refreshes its seat ledger and search index and replays the change
+ * as a remote CatalogChanged, which bumps the ETag, patches the snapshot and
+ * reaches SSE subscribers. A node's view therefore lags the others by at most
+ * one poll interval. Changed users travel the same way and drop the other
+ * nodes' cached principals.
+ *
+ * Rows are stamped with the writer's clock just before commit, like seat lease
+ * expiries. Each poll re-reads app.cluster.changes.lookback ms of them, so a
+ * row that commits a little after a later one, or comes from a node whose
+ * clock is slightly behind, is still seen; rows already applied are skipped.
+ */
+@Component
+@ConditionalOnProperty(name = "app.seats.mode", havingValue = "cluster")
+public class ClusterChangeFeed {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterChangeFeed.class);
+
+    private static final long PRUNE_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private final ClusterChangeRepository changes;
+    private final EventRepository eventRepo;
+    private final SeatLedger ledger;
+    private final EventSearchIndex searchIndex;
+    private final ApplicationEventPublisher publisher;
+    private final PrincipalCache principals;
+    private final String nodeId;
+    private final long pollMillis;
+    private final long lookbackMillis;
+    private final long retentionMillis;
+
+    // Row id -> when it can no longer come back in a poll; poller thread only
+    private final Map<Long, Long> applied = new HashMap<>();
+    private long nextPrune;
+
+    private final ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "cluster-changes");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public ClusterChangeFeed(ClusterChangeRepository changes,
+                             EventRepository eventRepo,
+                             SeatLedger ledger,
+                             EventSearchIndex searchIndex,
+                             ApplicationEventPublisher publisher,
+                             PrincipalCache principals,
+                             ClusterSeatLedger cluster,
+                             @Value("${app.cluster.changes.poll-interval:1000}") long pollMillis,
+                             @Value("${app.cluster.changes.lookback:5000}") long lookbackMillis,
+                             @Value("${app.cluster.changes.retention:600000}") long retentionMillis) {
+        this.changes = changes;
+        this.eventRepo = eventRepo;
+        this.ledger = ledger;
+        this.searchIndex = searchIndex;
+        this.publisher = publisher;
+        this.principals = principals;
+        this.nodeId = cluster.nodeId();
+        this.pollMillis = pollMillis;
+        this.lookbackMillis = lookbackMillis;
+        this.retentionMillis = retentionMillis;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        poller.scheduleWithFixedDelay(this::poll, pollMillis, pollMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // Same transaction as the change itself: other nodes hear of it exactly when it commits
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onChange(CatalogChanged change) {
+        if (!change.remote()) record(ClusterChange.Kind.EVENT, change.eventId());
+    }
+
+    // Called by PrincipalCacheInvalidator once the user's transaction committed, so it needs its own
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void userChanged(Long userId) {
+        record(ClusterChange.Kind.USER, userId);
+    }
+
+    private void record(ClusterChange.Kind kind, Long refId) {
+        ClusterChange c = new ClusterChange();
+        c.setKind(kind);
+        c.setRefId(refId);
+        c.setNodeId(nodeId);
+        c.setCreatedAt(LocalDateTime.now());
+        changes.save(c);
+    }
+
+    void poll() {
+        try {
+            long now = System.currentTimeMillis();
+            List<ClusterChange> fresh = changes.findSince(
+                    LocalDateTime.now().minus(Duration.ofMillis(lookbackMillis)), nodeId);
+
+            applied.values().removeIf(until -> until <= now);
+            List<ClusterChange> unseen = fresh.stream().filter(c -> !applied.containsKey(c.getId())).toList();
+
+            Set<Long> events = new LinkedHashSet<>();
+            for (ClusterChange c : unseen) {
+                if (c.getKind() == ClusterChange.Kind.EVENT) events.add(c.getRefId());
+                else principals.invalidateId(c.getRefId());
+            }
+            refresh(events);
+
+            // Only once applied: a failed refresh is retried while the rows are in the window
+            for (ClusterChange c : unseen) applied.put(c.getId(), now + 2 * lookbackMillis);
+
+            if (now >= nextPrune) {
+                nextPrune = now + PRUNE_INTERVAL_MILLIS;
+                changes.deleteOlderThan(LocalDateTime.now().minus(Duration.ofMillis(retentionMillis)));
+            }
+        } catch (RuntimeException ex) {
+            // Unapplied rows stay in the lookback window: a short outage is caught up on the next poll
+            log.warn("Polling cluster changes failed", ex);
+        }
+    }
+
+    // Runs on the poller thread, as the origin node's own CatalogChanged listeners would after its commit
+    private void refresh(Set<Long> eventIds) {
+        if (eventIds.isEmpty()) return;
+
+        Map<Long, Event> current = eventRepo.findCurrent(eventIds).stream()
+                .collect(Collectors.toMap(Event::getId, Function.identity()));
+
+        for (Long id : eventIds) {
+            Event e = current.get(id);
+            if (e != null) {
+                // Re-reads the unleased seats, so estimates for events this node doesn't sell stay current
+                ledger.track(e);
+                searchIndex.index(e);
+            } else {
+                ledger.forget(id);
+                searchIndex.remove(id);
+            }
+            publisher.publishEvent(new CatalogChanged(id, true));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        poller.shutdownNow();
+    }
+}
@@ -0,0 +1,374 @@
+package com.example.event.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.event.entity.Event;
+import com.example.event.exception.ServiceBusyException;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Seat counters for several backend nodes sharing one database
+ * (app.seats.mode=cluster). SeatLedger delegates here.
+ *
+ * Each node sells seats from blocks leased through SeatLeaseAllocator, so the
+ * database is touched once per block instead of once per registration. A
+ * heartbeat reports unused seats and extends the leases; seats left idle are
+ * handed back, as is everything on shutdown. A node stops selling from a lease
+ * well before it expires, so a lease reclaimed by another node is never used.
+ *
+ * Leasing runs on the seat-lease thread only, never on a caller's: callers are
+ * usually inside a registration transaction and already hold a pooled
+ * connection, and needing a second one there can exhaust the pool in a rush.
+ * A lease is topped up ahead of time once it drops below half a block. Entry
+ * points call prepare() before their transaction and wait there, holding no
+ * connection; a transaction that still comes up short never waits but gets a
+ * 503 to retry while the refill runs.
+ */
+@Component
+@ConditionalOnProperty(name = "app.seats.mode", havingValue = "cluster")
+public class ClusterSeatLedger {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterSeatLedger.class);
+
+    private final SeatLeaseAllocator allocator;
+    private final String nodeId;
+    private final int blockSize;
+    private final long ttlMillis;
+    private final long idleMillis;
+    private final long waitMillis;
+
+    private final Map<Long, Lease> leases = new ConcurrentHashMap<>();
+
+    // Heartbeats and every call into the allocator
+    private final ScheduledExecutorService leasing = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "seat-lease");
+        t.setDaemon(true);
+        return t;
+    });
+
+    static final class Lease {
+        // Unsold seats in the high 32 bits, seats sold in still-open transactions
+        // in the low 32 bits: one CAS moves a seat, one read reports both
+        final AtomicLong state = new AtomicLong();
+        final ReentrantLock refill = new ReentrantLock();
+        volatile long validUntil;
+        volatile long lastUsed;
+        volatile boolean held;
+        // Unleased seats in the shared pool when last looked
+        volatile int poolFree;
+        // That look was taken with no seats pending here, so poolFree == 0 really means sold out
+        volatile boolean poolExact;
+        // The refill in flight on the seat-lease thread, if any
+        final AtomicReference<CompletableFuture<Integer>> refilling = new AtomicReference<>();
+
+        Lease(int poolFree) {
+            this.poolFree = poolFree;
+        }
+
+        int free() {
+            return (int) (state.get() >>> 32);
+        }
+
+        int unused() {
+            long s = state.get();
+            return (int) (s >>> 32) + (int) s;
+        }
+    }
+
+    public ClusterSeatLedger(SeatLeaseAllocator allocator,
+                             @Value("${app.seats.node-id:}") String nodeId,
+                             @Value("${app.seats.lease.block-size:50}") int blockSize,
+                             @Value("${app.seats.lease.ttl:30000}") long ttlMillis,
+                             @Value("${app.seats.lease.idle:10000}") long idleMillis,
+                             @Value("${app.seats.lease.wait:5000}") long waitMillis) {
+        this.allocator = allocator;
+        this.nodeId = nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+        this.blockSize = blockSize;
+        this.ttlMillis = ttlMillis;
+        this.idleMillis = idleMillis;
+        this.waitMillis = waitMillis;
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long period = ttlMillis / 3;
+        leasing.scheduleWithFixedDelay(this::heartbeat, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    public boolean tryReserve(Event event) {
+        return reserveUpTo(event, 1) == 1;
+    }
+
+    /**
+     * Makes sure this node's lease holds n unsold seats, or all the event has
+     * left, waiting for the seat-lease thread if needed. Meant to be called
+     * before the caller's transaction begins; it reserves nothing.
+     */
+    public void prepare(Event event, int n) {
+        Lease l = leaseFor(event);
+        if (l.free() >= n && System.currentTimeMillis() < l.validUntil) return;
+        awaitRefill(event.getId(), l, n - l.free(), System.currentTimeMillis() + waitMillis);
+    }
+
+    /**
+     * Takes up to n seats. Outside a transaction it waits for another block
+     * when this node's lease runs short; inside one it only starts the refill
+     * and, unless the event is sold out, throws ServiceBusyException. Inside a
+     * transaction the seats go back into the lease on rollback.
+     */
+    public int reserveUpTo(Event event, int n) {
+        Lease l = leaseFor(event);
+        boolean inTx = TransactionSynchronizationManager.isSynchronizationActive();
+
+        int got = take(l, n);
+        if (got < n && inTx) {
+            refillAsync(event.getId(), l, n - got);
+            // Pending seats count as held in the pool, so only an exact count proves it sold out
+            if (l.poolFree > 0 || !l.poolExact) {
+                untake(l, got);
+                throw new ServiceBusyException("Seats are being allocated, please retry", 1);
+            }
+        }
+        long deadline = System.currentTimeMillis() + waitMillis;
+        while (got < n && !inTx) {
+            // Seats we were handed may be taken by others first: try again until the pool says no
+            int available = awaitRefill(event.getId(), l, n - got, deadline);
+            int more = take(l, n - got);
+            got += more;
+            if (more == 0 && available == 0) break;
+        }
+        if (l.free() < blockSize / 2 && l.poolFree > 0) refillAsync(event.getId(), l, blockSize);
+        if (got == 0) return 0;
+
+        int sold = got;
+        if (inTx) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    // Committed seats are registrations now; the rest are unsold again
+                    long back = status == STATUS_COMMITTED ? 0 : (long) sold << 32;
+                    l.state.addAndGet(back - sold);
+                }
+            });
+        } else {
+            l.state.addAndGet(-sold);
+        }
+        return got;
+    }
+
+    // Moves up to n seats from unsold to pending, if the lease may still be sold from
+    private int take(Lease l, int n) {
+        if (System.currentTimeMillis() >= l.validUntil) return 0;
+
+        while (true) {
+            long s = l.state.get();
+            int got = Math.min(n, (int) (s >>> 32));
+            if (got == 0) return 0;
+            if (l.state.compareAndSet(s, s - ((long) got << 32) + got)) {
+                l.lastUsed = System.currentTimeMillis();
+                return got;
+            }
+        }
+    }
+
+    private static void untake(Lease l, int n) {
+        if (n > 0) l.state.addAndGet(((long) n << 32) - n);
+    }
+
+    // Seats the lease can sell after the refill; 0 means the event has none left
+    private int awaitRefill(Long eventId, Lease l, int wanted, long deadline) {
+        try {
+            return refillAsync(eventId, l, wanted).get(Math.max(0, deadline - System.currentTimeMillis()),
+                    TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            throw new ServiceBusyException("Seats are being allocated, please retry", 1);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Seats are being allocated, please retry", 1);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    // One refill per event at a time; threads arriving meanwhile wait for the same block.
+    // Claimed with a CAS rather than a monitor, so a virtual thread here never pins its carrier
+    private CompletableFuture<Integer> refillAsync(Long eventId, Lease l, int wanted) {
+        while (true) {
+            CompletableFuture<Integer> running = l.refilling.get();
+            if (running != null) return running;
+
+            CompletableFuture<Integer> f = new CompletableFuture<>();
+            if (!l.refilling.compareAndSet(null, f)) continue;
+
+            try {
+                leasing.execute(() -> {
+                    try {
+                        f.complete(refill(eventId, l, wanted));
+                    } catch (RuntimeException ex) {
+                        f.completeExceptionally(ex);
+                    } finally {
+                        l.refilling.compareAndSet(f, null);
+                    }
+                });
+            } catch (RejectedExecutionException shuttingDown) {
+                l.refilling.compareAndSet(f, null);
+                f.completeExceptionally(shuttingDown);
+            }
+            return f;
+        }
+    }
+
+    // Runs on the seat-lease thread, which holds no other connection
+    private int refill(Long eventId, Lease l, int wanted) {
+        l.refill.lock();
+        try {
+            long now = System.currentTimeMillis();
+            if (now < l.validUntil && l.free() >= Math.max(wanted, blockSize / 2)) return l.free();
+            if (now >= l.validUntil) clearFree(l);
+
+            boolean exact = (int) l.state.get() == 0;
+            SeatLeaseAllocator.Grant g = allocator.lease(eventId, nodeId, Math.max(blockSize, wanted), l.unused(),
+                    expiry());
+            l.state.addAndGet((long) g.seats() << 32);
+            l.poolFree = g.poolFree();
+            l.poolExact = exact;
+            l.held = true;
+            l.validUntil = now + ttlMillis / 2;
+            return l.free();
+        } finally {
+            l.refill.unlock();
+        }
+    }
+
+    // A freed seat returns to the shared pool through the registration count
+    public void release(Long eventId, int n) {
+        Lease l = leases.get(eventId);
+        if (l != null) l.poolFree += n;
+    }
+
+    public int remaining(Event event) {
+        Lease l = leaseFor(event);
+        return l.free() + l.poolFree;
+    }
+
+    public OptionalInt peekRemaining(Long eventId) {
+        Lease l = leases.get(eventId);
+        return l == null ? OptionalInt.empty() : OptionalInt.of(l.free() + l.poolFree);
+    }
+
+    public void track(Event event) {
+        int poolFree = allocator.poolFree(event);
+        leases.computeIfAbsent(event.getId(), id -> new Lease(poolFree)).poolFree = poolFree;
+    }
+
+    public void forget(Long eventId) {
+        Lease l = leases.remove(eventId);
+        if (l != null) stopSelling(l);
+        allocator.drop(eventId);
+    }
+
+    private Lease leaseFor(Event event) {
+        Lease l = leases.get(event.getId());
+        if (l != null) return l;
+
+        Lease fresh = new Lease(allocator.poolFree(event));
+        Lease prev = leases.putIfAbsent(event.getId(), fresh);
+        return prev != null ? prev : fresh;
+    }
+
+    private void heartbeat() {
+        long now = System.currentTimeMillis();
+        leases.forEach((eventId, l) -> {
+            try {
+                renew(eventId, l, now);
+            } catch (RuntimeException ex) {
+                // Not renewed: the lease lapses locally before it can be reclaimed
+                log.warn("Renewing seat lease for event {} failed", eventId, ex);
+            }
+        });
+
+        try {
+            allocator.reclaimExpired(LocalDateTime.now().minus(Duration.ofMillis(ttlMillis)));
+        } catch (RuntimeException ex) {
+            log.warn("Reclaiming expired seat leases failed", ex);
+        }
+    }
+
+    private void renew(Long eventId, Lease l, long now) {
+        l.refill.lock();
+        try {
+            if (!l.held) return;
+            if (now - l.lastUsed > idleMillis) stopSelling(l);
+
+            int unused = l.unused();
+            if (unused == 0 && now >= l.validUntil) {
+                allocator.release(eventId, nodeId);
+                l.held = false;
+            } else if (allocator.renew(eventId, nodeId, unused, expiry())) {
+                if (now < l.validUntil) l.validUntil = now + ttlMillis / 2;
+            } else {
+                stopSelling(l);
+                l.held = false;
+            }
+        } finally {
+            l.refill.unlock();
+        }
+    }
+
+    // Closes the lease for selling; seats in open transactions stay reported until they settle
+    private static void stopSelling(Lease l) {
+        l.validUntil = 0;
+        clearFree(l);
+    }
+
+    private static void clearFree(Lease l) {
+        l.state.updateAndGet(s -> s & 0xffffffffL);
+    }
+
+    private LocalDateTime expiry() {
+        return LocalDateTime.now().plus(Duration.ofMillis(ttlMillis));
+    }
+
+    // Unsold seats go straight back to the pool instead of waiting for the leases to expire
+    @PreDestroy
+    public void shutdown() {
+        leasing.shutdownNow();
+        leases.values().forEach(ClusterSeatLedger::stopSelling);
+        try {
+            allocator.releaseAll(nodeId);
+        } catch (RuntimeException ex) {
+            log.warn("Returning seat leases of node {} failed; they are reclaimed on expiry", nodeId, ex);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.event.service;
+
+import java.time.LocalDateTime;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.event.repository.ArchivedEventRepository;
+import com.example.event.repository.ArchivedRegistrationRepository;
+import com.example.event.repository.EventRepository;
+import com.example.event.repository.RegistrationRepository;
+import com.example.event.repository.WaitlistRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Moves one event and its registrations to the archive tables in a single
+ * transaction, with set-based INSERT ... SELECT and DELETE statements. Readers
+ * see the event either in the hot tier or in the archive, never in both or
+ * neither.
+ *
+ * The event row is locked first, so registrations for it wait until the move
+ * is over. Registrations are then deleted only if they were copied: one that
+ * still slips in keeps the event row referenced, the final delete fails and
+ * the whole move rolls back to be retried on the next pass.
+ */
+@Component
+@RequiredArgsConstructor
+public class EventArchiveWriter {
+
+    private final EventRepository eventRepo;
+    private final RegistrationRepository regRepo;
+    private final WaitlistRepository waitRepo;
+    private final ArchivedEventRepository archivedEvents;
+    private final ArchivedRegistrationRepository archivedRegs;
+
+    // false if the event is gone (or soft-deleted) by the time we get to it
+    @Transactional
+    public boolean archive(Long eventId, LocalDateTime at) {
+        if (eventRepo.lockForArchive(eventId).isEmpty()) return false;
+        if (archivedEvents.copyFromLive(eventId, at) == 0) return false;
+
+        archivedRegs.copyFromLive(eventId);
+        regRepo.deleteArchivedByEvent(eventId);
+        // Nobody gets off the waitlist of an event that is over
+        waitRepo.deleteAllByEvent(eventId);
+        eventRepo.deleteArchived(eventId);
+        return true;
+    }
+}
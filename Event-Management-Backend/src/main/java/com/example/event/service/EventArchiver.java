@@ -0,0 +1,130 @@
+package com.example.event.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import com.example.event.repository.ArchivedEventRepository;
+import com.example.event.repository.EventRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Hot/cold tiering: periodically moves events whose dateTime lies more than
+ * app.archive.after in the past, with their registrations, into the archive
+ * tables. Catalog and "my registrations" queries, and their indexes, then only
+ * ever cover upcoming and recent events; archived ones are read through the
+ * history endpoints.
+ *
+ * Each event is archived in its own short transaction through
+ * EventArchiveWriter. Every pass also evicts events archived by other nodes
+ * from this node's seat ledger and search index.
+ */
+@Component
+public class EventArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(EventArchiver.class);
+
+    private final EventRepository eventRepo;
+    private final ArchivedEventRepository archivedEvents;
+    private final EventArchiveWriter writer;
+    private final SeatLedger ledger;
+    private final EventSearchIndex searchIndex;
+    private final ApplicationEventPublisher publisher;
+    private final Duration after;
+    private final long intervalMillis;
+    private final int batchSize;
+
+    private LocalDateTime lastPass;
+
+    private final ScheduledExecutorService worker = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "event-archive");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public EventArchiver(EventRepository eventRepo, ArchivedEventRepository archivedEvents,
+                         EventArchiveWriter writer, SeatLedger ledger, EventSearchIndex searchIndex,
+                         ApplicationEventPublisher publisher,
+                         @Value("${app.archive.after:86400000}") long afterMillis,
+                         @Value("${app.archive.interval:3600000}") long intervalMillis,
+                         @Value("${app.archive.batch-size:100}") int batchSize) {
+        this.eventRepo = eventRepo;
+        this.archivedEvents = archivedEvents;
+        this.writer = writer;
+        this.ledger = ledger;
+        this.searchIndex = searchIndex;
+        this.publisher = publisher;
+        this.after = Duration.ofMillis(afterMillis);
+        this.intervalMillis = intervalMillis;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        lastPass = LocalDateTime.now();
+        worker.scheduleWithFixedDelay(this::runPass, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void runPass() {
+        try {
+            int archived = archivePast();
+            if (archived > 0) log.info("Archived {} finished events", archived);
+        } catch (RuntimeException ex) {
+            // Typically a concurrent pass on another node archived the same event first
+            log.warn("Archive pass failed, retrying in {} ms", intervalMillis, ex);
+        }
+    }
+
+    // Batches until no finished event is left; returns how many this node moved
+    int archivePast() {
+        LocalDateTime started = LocalDateTime.now();
+        LocalDateTime cutoff = started.minus(after);
+        Set<Long> evicted = new HashSet<>();
+        int archived = 0;
+
+        try {
+            List<Long> ids;
+            do {
+                ids = eventRepo.findIdsEndedBefore(cutoff, Limit.of(batchSize));
+                for (Long id : ids) {
+                    if (writer.archive(id, LocalDateTime.now())) {
+                        archived++;
+                        evict(id, evicted);
+                    }
+                }
+            } while (ids.size() == batchSize);
+        } finally {
+            // Events other nodes archived since our last pass; the minute of overlap covers clock skew
+            archivedEvents.findIdsArchivedSince(lastPass.minusMinutes(1)).forEach(id -> evict(id, evicted));
+            lastPass = started;
+        }
+        return archived;
+    }
+
+    private void evict(Long id, Set<Long> evicted) {
+        if (!evicted.add(id)) return;
+        ledger.forget(id);
+        searchIndex.remove(id);
+        publisher.publishEvent(new CatalogChanged(id));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.event.service;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.example.event.repository.EventRepository;
+import com.example.event.repository.RegistrationRepository;
+import com.example.event.repository.WaitlistRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Physically removes soft-deleted events in the background. Registrations and
+ * waitlist entries go first, in chunked DELETEs that each run in their own
+ * short transaction, then the event row itself. A failed pass (for example a
+ * late registration racing the purge) is retried after a delay; events still
+ * pending at startup are picked up again.
+ */
+@Component
+public class EventPurger {
+
+    private static final Logger log = LoggerFactory.getLogger(EventPurger.class);
+
+    private final EventRepository eventRepo;
+    private final RegistrationRepository regRepo;
+    private final WaitlistRepository waitRepo;
+    private final int chunkSize;
+    private final long pauseMillis;
+    private final long retryMillis;
+
+    private final ScheduledExecutorService worker = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "event-purge");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public EventPurger(EventRepository eventRepo, RegistrationRepository regRepo, WaitlistRepository waitRepo,
+                       @Value("${app.events.purge.chunk-size:1000}") int chunkSize,
+                       @Value("${app.events.purge.pause:20}") long pauseMillis,
+                       @Value("${app.events.purge.retry:30000}") long retryMillis) {
+        this.eventRepo = eventRepo;
+        this.regRepo = regRepo;
+        this.waitRepo = waitRepo;
+        this.chunkSize = chunkSize;
+        this.pauseMillis = pauseMillis;
+        this.retryMillis = retryMillis;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resume() {
+        eventRepo.findDeletedIds().forEach(this::schedule);
+    }
+
+    public void schedule(Long eventId) {
+        worker.execute(() -> purge(eventId));
+    }
+
+    private void purge(Long eventId) {
+        try {
+            long registrations = drain(() -> regRepo.deleteChunkByEvent(eventId, chunkSize));
+            long waiting = drain(() -> waitRepo.deleteChunkByEvent(eventId, chunkSize));
+
+            if (eventRepo.purgeDeleted(eventId) == 1)
+                log.info("Purged event {} ({} registrations, {} waitlist entries)", eventId, registrations, waiting);
+        } catch (RuntimeException ex) {
+            log.warn("Purge of event {} failed, retrying in {} ms", eventId, retryMillis, ex);
+            worker.schedule(() -> purge(eventId), retryMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // Pause between chunks so the purge never monopolises locks or a pooled connection
+    private long drain(IntSupplier chunk) {
+        long total = 0;
+        int n;
+        do {
+            n = chunk.getAsInt();
+            total += n;
+            if (n > 0 && pauseMillis > 0) sleep(pauseMillis);
+        } while (n == chunkSize);
+        return total;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Purge interrupted", ex);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+}
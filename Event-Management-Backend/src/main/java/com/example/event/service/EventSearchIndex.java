@@ -0,0 +1,301 @@
+package com.example.event.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.OptionalInt;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.event.dto.EventSeats;
+import com.example.event.dto.SearchPage;
+import com.example.event.entity.Event;
+import com.example.event.repository.EventRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * In-memory inverted index over event title, speaker, description and
+ * category, plus a sorted dateTime index. Built once at startup and kept
+ * current by EventService, so searches never scan the events table.
+ */
+@Component
+@RequiredArgsConstructor
+public class EventSearchIndex {
+
+    private static final int TITLE_WEIGHT = 4;
+    private static final int CATEGORY_WEIGHT = 3;
+    private static final int SPEAKER_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private final EventRepository repo;
+    private final SeatLedger ledger;
+
+    // token -> (event id -> field weight); sorted so query tokens match as prefixes
+    private final ConcurrentSkipListMap<String, Map<Long, Integer>> postings = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<LocalDateTime, Set<Long>> byDate = new ConcurrentSkipListMap<>();
+    private final Set<Long> undated = new ConcurrentSkipListSet<>();
+    private final Map<String, Set<Long>> byCategory = new ConcurrentHashMap<>();
+    private final Map<Long, Indexed> docs = new ConcurrentHashMap<>();
+
+    // Serializes writers; a lock rather than synchronized so virtual threads never pin here
+    private final ReentrantLock writes = new ReentrantLock();
+
+    private record Indexed(Event event, Set<String> tokens) {}
+
+    private record Hit(Event event, int score) {}
+
+    // Best first: score, then date (undated last), then id
+    private static final Comparator<Hit> RANKING = Comparator
+            .comparingInt(Hit::score).reversed()
+            .thenComparing(h -> h.event().getDateTime(), Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(h -> h.event().getId());
+
+    // Read-write, so the startup load comes from the primary, not a replica that may lag
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuild() {
+        repo.findAll().forEach(this::index);
+    }
+
+    public void index(Event e) {
+        writes.lock();
+        try {
+            remove(e.getId());
+
+            Map<String, Integer> weights = new HashMap<>();
+            addTokens(weights, e.getTitle(), TITLE_WEIGHT);
+            addTokens(weights, e.getCategory(), CATEGORY_WEIGHT);
+            addTokens(weights, e.getSpeaker(), SPEAKER_WEIGHT);
+            addTokens(weights, e.getDescription(), DESCRIPTION_WEIGHT);
+
+            weights.forEach((token, w) ->
+                    postings.computeIfAbsent(token, t -> new ConcurrentHashMap<>()).put(e.getId(), w));
+
+            if (e.getDateTime() != null)
+                byDate.computeIfAbsent(e.getDateTime(), d -> ConcurrentHashMap.newKeySet()).add(e.getId());
+            else
+                undated.add(e.getId());
+
+            if (e.getCategory() != null)
+                byCategory.computeIfAbsent(categoryKey(e.getCategory()), c -> ConcurrentHashMap.newKeySet()).add(e.getId());
+
+            docs.put(e.getId(), new Indexed(e, weights.keySet()));
+        } finally {
+            writes.unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        writes.lock();
+        try {
+            Indexed old = docs.remove(id);
+            if (old == null) return;
+
+            for (String token : old.tokens()) {
+                postings.computeIfPresent(token, (t, ids) -> {
+                    ids.remove(id);
+                    return ids.isEmpty() ? null : ids;
+                });
+            }
+
+            Event e = old.event();
+            undated.remove(id);
+            if (e.getDateTime() != null) {
+                byDate.computeIfPresent(e.getDateTime(), (d, ids) -> {
+                    ids.remove(id);
+                    return ids.isEmpty() ? null : ids;
+                });
+            }
+            if (e.getCategory() != null) {
+                byCategory.computeIfPresent(categoryKey(e.getCategory()), (c, ids) -> {
+                    ids.remove(id);
+                    return ids.isEmpty() ? null : ids;
+                });
+            }
+        } finally {
+            writes.unlock();
+        }
+    }
+
+    /**
+     * Every query token must match (as a prefix) some indexed token of the event.
+     * Results are ordered by summed field weight, then by date, then by id.
+     * Only the hits up to the requested page are ranked, in a bounded heap;
+     * without a text query or category the date index already is the order.
+     */
+    public SearchPage<EventSeats> search(String q, String category,
+                                         LocalDateTime from, LocalDateTime to,
+                                         int page, int size) {
+
+        int limit = Math.min(Math.max(size, 1), EventService.MAX_PAGE_SIZE);
+        int pageNo = Math.max(page, 0);
+        long start = (long) pageNo * limit;
+
+        List<String> terms = tokenize(q);
+        String categoryKey = category == null || category.isBlank() ? null : categoryKey(category);
+        if (terms.isEmpty() && categoryKey == null)
+            return byDate(from, to, start, limit, pageNo);
+
+        Map<Long, Integer> scores = terms.isEmpty() ? Map.of() : matchAll(terms);
+        Collection<Long> candidates = terms.isEmpty()
+                ? byCategory.getOrDefault(categoryKey, Set.of())
+                : scores.keySet();
+
+        // Weakest kept hit on top, so each candidate costs O(log(start + limit))
+        long wanted = start + limit;
+        PriorityQueue<Hit> top = new PriorityQueue<>(RANKING.reversed());
+        int total = 0;
+        for (Long id : candidates) {
+            Indexed doc = docs.get(id);
+            if (doc == null) continue;
+
+            Event e = doc.event();
+            if (categoryKey != null && (e.getCategory() == null || !categoryKey(e.getCategory()).equals(categoryKey)))
+                continue;
+            if ((from != null || to != null) && e.getDateTime() == null)
+                continue;
+            if (from != null && e.getDateTime().isBefore(from)) continue;
+            if (to != null && e.getDateTime().isAfter(to)) continue;
+
+            total++;
+            Hit hit = new Hit(e, scores.getOrDefault(id, 0));
+            if (top.size() < wanted) {
+                top.add(hit);
+            } else if (RANKING.compare(hit, top.peek()) < 0) {
+                top.poll();
+                top.add(hit);
+            }
+        }
+
+        List<Event> items = new ArrayList<>(limit);
+        if (start < top.size()) {
+            List<Hit> ranked = new ArrayList<>(top);
+            ranked.sort(RANKING);
+            for (Hit h : ranked.subList((int) start, ranked.size())) items.add(h.event());
+        }
+        return new SearchPage<>(total, pageNo, limit, toSeats(items));
+    }
+
+    // No text and no category: every hit scores 0, so date then id order is a walk of byDate
+    private SearchPage<EventSeats> byDate(LocalDateTime from, LocalDateTime to, long start, int limit, int pageNo) {
+        NavigableMap<LocalDateTime, Set<Long>> range = byDate;
+        if (from != null) range = range.tailMap(from, true);
+        if (to != null) range = range.headMap(to, true);
+        boolean unbounded = from == null && to == null;
+
+        List<Event> items = new ArrayList<>(limit);
+        long seen = 0;
+        for (Set<Long> ids : range.values()) {
+            // Without a range the total is the index size: stop once the page is full
+            if (unbounded && items.size() == limit) break;
+
+            int n = ids.size();
+            if (items.size() < limit && seen + n > start) {
+                List<Long> sameTime = new ArrayList<>(ids);
+                Collections.sort(sameTime);
+                n = sameTime.size();
+                collect(sameTime, start - seen, limit, items);
+            }
+            seen += n;
+        }
+
+        if (unbounded) {
+            // Undated events rank after every dated one
+            if (items.size() < limit) collect(new ArrayList<>(undated), start - seen, limit, items);
+            return new SearchPage<>(docs.size(), pageNo, limit, toSeats(items));
+        }
+        return new SearchPage<>((int) Math.min(seen, Integer.MAX_VALUE), pageNo, limit, toSeats(items));
+    }
+
+    // Appends ids[skip..] until the page holds limit events
+    private void collect(List<Long> ids, long skip, int limit, List<Event> items) {
+        if (skip >= ids.size()) return;
+        for (int i = (int) Math.max(skip, 0); i < ids.size() && items.size() < limit; i++) {
+            Indexed doc = docs.get(ids.get(i));
+            if (doc != null) items.add(doc.event());
+        }
+    }
+
+    private Map<Long, Integer> matchAll(List<String> terms) {
+        Map<Long, Integer> result = null;
+
+        for (String term : terms) {
+            Map<Long, Integer> forTerm = new HashMap<>();
+            for (Map<Long, Integer> ids : postings.subMap(term, true, term + Character.MAX_VALUE, true).values()) {
+                ids.forEach((id, w) -> forTerm.merge(id, w, Math::max));
+            }
+
+            if (result == null) {
+                result = forTerm;
+            } else {
+                result.keySet().retainAll(forTerm.keySet());
+                result.replaceAll((id, w) -> w + forTerm.get(id));
+            }
+            if (result.isEmpty()) break;
+        }
+        return result;
+    }
+
+    // Seat counts from the ledger's counters; events this node does not track
+    // come from one query for the page, never a lease or a query per hit
+    private List<EventSeats> toSeats(List<Event> events) {
+        List<EventSeats> out = new ArrayList<>(events.size());
+        List<Long> untracked = new ArrayList<>();
+        for (Event e : events) {
+            OptionalInt left = ledger.peekRemaining(e.getId());
+            if (left.isEmpty()) {
+                untracked.add(e.getId());
+                out.add(null);
+                continue;
+            }
+            out.add(new EventSeats(e.getId(), e.getTitle(), e.getVenue(), e.getMaxCapacity(),
+                    (long) e.getMaxCapacity() - left.getAsInt(),
+                    e.getCategory(), e.getSpeaker(), e.getDateTime(), e.getDescription()));
+        }
+        if (untracked.isEmpty()) return out;
+
+        Map<Long, EventSeats> loaded = new HashMap<>();
+        for (EventSeats row : repo.findSeatsByIds(untracked)) loaded.put(row.getId(), row);
+        for (int i = 0; i < out.size(); i++) {
+            if (out.get(i) == null) out.set(i, loaded.get(events.get(i).getId()));
+        }
+        out.removeIf(Objects::isNull);
+        return out;
+    }
+
+    private static void addTokens(Map<String, Integer> weights, String text, int weight) {
+        for (String token : tokenize(text)) weights.merge(token, weight, Math::max);
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) return List.of();
+
+        List<String> out = new ArrayList<>();
+        for (String t : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!t.isEmpty()) out.add(t);
+        }
+        return out;
+    }
+
+    private static String categoryKey(String category) {
+        return category.trim().toLowerCase(Locale.ROOT);
+    }
+}
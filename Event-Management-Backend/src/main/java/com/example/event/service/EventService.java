@@ -1,57 +1,99 @@
 package com.example.event.service;
 
+import com.example.event.dto.CursorPage;
+import com.example.event.dto.EventSeats;
+import com.example.event.dto.SearchPage;
+import com.example.event.dto.StudentRow;
 import com.example.event.entity.Event;
-import com.example.event.entity.Registration;
-import com.example.event.entity.User;
 import com.example.event.exception.*;
+import com.example.event.repository.ArchivedEventRepository;
 import com.example.event.repository.EventRepository;
 import com.example.event.repository.RegistrationRepository;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.HashMap;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
+import java.util.stream.Stream;
+
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.SequenceWriter;
 
 @Service
 @RequiredArgsConstructor
 public class EventService {
 
+    public static final int MAX_PAGE_SIZE = 200;
+
     private final EventRepository repo;
     private final RegistrationRepository regRepo;
+    private final SeatLedger ledger;
+    private final EventSearchIndex searchIndex;
+    private final WaitlistService waitlist;
+    private final ApplicationEventPublisher publisher;
+    private final EventPurger purger;
+    private final ArchivedEventRepository archivedEvents;
+    private final ObjectMapper mapper;
 
     
     public Event create(Event e) {
         if (e == null || e.getTitle() == null || e.getVenue() == null || e.getMaxCapacity() <= 0)
             throw new BadRequestException("Invalid event data");
 
-        return repo.save(e);
+        Event saved = repo.save(e);
+        ledger.track(saved);
+        searchIndex.index(saved);
+        publisher.publishEvent(new CatalogChanged(saved.getId()));
+        return saved;
     }
 
+    // Read-write, so the primary: the ETag comes from CatalogVersion, which is bumped
+    // after the primary commits, and a lagging replica would cache old rows under it
+    @Transactional
     public List<Event> all() {
         return repo.findAll();
     }
 
-    public List<Map<String, Object>> allWithSeats() {
+    // Keyset page of the catalog: events with id > afterId, remaining seats computed in SQL.
+    // On the primary like all(), since the page is served under the catalog ETag
+    @Transactional
+    public CursorPage<EventSeats> allWithSeats(Long afterId, int size) {
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        return seatsPage(repo, afterId == null ? 0L : afterId, limit);
+    }
+
+    // One row past the page tells whether there is a next one, so a full last page costs no extra request
+    static CursorPage<EventSeats> seatsPage(EventRepository repo, long afterId, int limit) {
+        List<EventSeats> rows = repo.findSeatsPage(afterId, Limit.of(limit + 1));
+        if (rows.size() <= limit) return new CursorPage<>(rows, null);
+
+        List<EventSeats> page = rows.subList(0, limit);
+        return new CursorPage<>(page, page.get(limit - 1).getId());
+    }
 
-        return repo.findAll().stream().map(e -> {
+    // Finished events moved out by EventArchiver; remaining seats as they were at archive time
+    @Transactional(readOnly = true)
+    public List<EventSeats> history(Long afterId, int size) {
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        return archivedEvents.findPage(afterId == null ? 0L : afterId, Limit.of(limit));
+    }
 
-            long used = regRepo.countByEvent(e);
-            long left = Math.max(0, e.getMaxCapacity() - used);
+    public SearchPage<EventSeats> search(String q, String category,
+                                         LocalDateTime from, LocalDateTime to,
+                                         int page, int size) {
+        if (from != null && to != null && from.isAfter(to))
+            throw new BadRequestException("Invalid date range");
 
-            Map<String, Object> map = new HashMap<>();
-            map.put("id", e.getId());
-            map.put("title", e.getTitle());
-            map.put("venue", e.getVenue());
-            map.put("maxCapacity", e.getMaxCapacity());
-            map.put("remainingSeats", left);
-            map.put("category", e.getCategory());
-            map.put("speaker", e.getSpeaker());
-            map.put("date_time", e.getDateTime());
-            map.put("description", e.getDescription());
-            return map;
-        }).toList();
+        return searchIndex.search(q, category, from, to, page, size);
     }
 
     public Event update(Long id, Event e) {
@@ -64,14 +106,30 @@ public class EventService {
         if (e.getVenue() != null) db.setVenue(e.getVenue());
         if (e.getSpeaker() != null) db.setSpeaker(e.getSpeaker());
         if (e.getCategory() != null) db.setCategory(e.getCategory());
+        int oldCapacity = db.getMaxCapacity();
         if (e.getMaxCapacity() > 0) db.setMaxCapacity(e.getMaxCapacity());
 
-        return repo.save(db);
+        Event saved = repo.save(db);
+        ledger.track(saved);
+        searchIndex.index(saved);
+
+        // New seats go to the waitlist first; clustered mode leases them before fill's transaction
+        if (saved.getMaxCapacity() > oldCapacity) {
+            ledger.prepare(saved, saved.getMaxCapacity() - oldCapacity);
+            waitlist.fill(saved);
+        }
+
+        publisher.publishEvent(new CatalogChanged(saved.getId()));
+        return saved;
     }
+    // Soft delete: one UPDATE hides the event now, EventPurger removes its rows later
     public void delete(Long id) {
-        if (!repo.existsById(id))
+        if (repo.markDeleted(id, LocalDateTime.now()) == 0)
             throw new ResourceNotFoundException("Event not found");
-        repo.deleteById(id);
+        purger.schedule(id);
+        ledger.forget(id);
+        searchIndex.remove(id);
+        publisher.publishEvent(new CatalogChanged(id));
     }
     
     public Event getEvent(Long id) {
@@ -79,16 +137,63 @@ public class EventService {
                 .orElseThrow(() -> new ResourceNotFoundException("Event not found"));
     }
     // ADMIN: get students for event
-    public List<User> getRegisteredStudents(Long eventId) {
+    @Transactional(readOnly = true)
+    public List<StudentRow> getRegisteredStudents(Long eventId) {
 
-        Event event = getEvent(eventId);
+        getEvent(eventId);
 
-        return regRepo.findByEvent(event)
-                .stream()
-                .map(Registration::getUser)
-                .toList();
+        return regRepo.findStudents(eventId);
     }
     
+    /**
+     * Streams an event's students as CSV or NDJSON straight to the writer.
+     * Rows come from a DB cursor, so heap use does not grow with the event.
+     */
+    @Transactional(readOnly = true)
+    public void exportStudents(Long eventId, String format, Writer out) throws IOException {
+        try (Stream<StudentRow> rows = regRepo.streamStudents(eventId)) {
+            if ("csv".equalsIgnoreCase(format)) writeCsv(rows.iterator(), out);
+            else writeNdjson(rows.iterator(), out);
+        }
+        out.flush();
+    }
+
+    private static void writeCsv(Iterator<StudentRow> rows, Writer out) throws IOException {
+        out.write("id,name,email,registeredAt\n");
+        while (rows.hasNext()) {
+            StudentRow r = rows.next();
+            out.write(String.valueOf(r.getId()));
+            out.write(',');
+            out.write(csvField(r.getName()));
+            out.write(',');
+            out.write(csvField(r.getEmail()));
+            out.write(',');
+            out.write(r.getRegisteredAt() == null ? "" : r.getRegisteredAt().toString());
+            out.write('\n');
+        }
+    }
+
+    // One JSON object per line; the response writer stays open for the caller
+    private void writeNdjson(Iterator<StudentRow> rows, Writer out) throws IOException {
+        ObjectWriter lines = mapper.writerFor(StudentRow.class)
+                .withRootValueSeparator("\n")
+                .without(StreamWriteFeature.AUTO_CLOSE_TARGET);
+
+        boolean any = rows.hasNext();
+        try (SequenceWriter seq = lines.writeValues(out)) {
+            while (rows.hasNext()) seq.write(rows.next());
+        }
+        if (any) out.write('\n');
+    }
+
+    // Spreadsheet apps run cells starting with = + - @ (or tab/CR) as formulas: make them text
+    private static String csvField(String v) {
+        if (v == null) return "";
+        if (!v.isEmpty() && "=+-@\t\r".indexOf(v.charAt(0)) >= 0) v = "'" + v;
+        if (v.indexOf(',') < 0 && v.indexOf('"') < 0 && v.indexOf('\n') < 0 && v.indexOf('\r') < 0) return v;
+        return '"' + v.replace("\"", "\"\"") + '"';
+    }
+
     public Event get(Long id) {
         if (id == null)
             throw new BadRequestException("Invalid event id");
@@ -97,13 +202,11 @@ public class EventService {
                 .orElseThrow(() -> new ResourceNotFoundException("Event not found"));
     }
     
-    public List<User> studentsByEvent(Long eventId) {
-        Event event = repo.findById(eventId)
-                .orElseThrow(() -> new ResourceNotFoundException("Event not found"));
+    @Transactional(readOnly = true)
+    public List<StudentRow> studentsByEvent(Long eventId) {
+        if (!repo.existsById(eventId))
+            throw new ResourceNotFoundException("Event not found");
 
-        return regRepo.findByEvent(event)
-                .stream()
-                .map(Registration::getUser)
-                .toList();
+        return regRepo.findStudents(eventId);
     }
 }
@@ -0,0 +1,101 @@
+package com.example.event.service;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.event.dto.ApiResponse;
+import com.example.event.exception.BadRequestException;
+import com.example.event.exception.ResourceNotFoundException;
+import com.example.event.exception.ServiceBusyException;
+import com.example.event.util.BoundedMaps;
+
+/**
+ * Bounded, TTL-evicting record of Idempotency-Key outcomes per user.
+ *
+ * The first request with a key runs; retries with the same key get the stored
+ * response (or the same 400/404 error) replayed without reaching the service or
+ * the database. A retry that arrives while the original is still running waits
+ * for it. Unexpected failures are not stored, so the client may retry them.
+ */
+@Component
+public class IdempotencyStore {
+
+    private record Outcome(ApiResponse<?> response, RuntimeException error) {}
+
+    private record Entry(String fingerprint, CompletableFuture<Outcome> outcome, long expiresAt) {}
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final long ttlMillis;
+    private final long inFlightWaitMillis;
+
+    public IdempotencyStore(@Value("${app.idempotency.max-size:50000}") int maxSize,
+                            @Value("${app.idempotency.ttl:3600000}") long ttlMillis,
+                            @Value("${app.idempotency.in-flight-wait:5000}") long inFlightWaitMillis) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.inFlightWaitMillis = inFlightWaitMillis;
+    }
+
+    /**
+     * Runs the action once per (userId, key). The fingerprint identifies the
+     * request (method and path); reusing a key for a different one is rejected.
+     */
+    public ApiResponse<?> execute(Long userId, String key, String fingerprint, Supplier<ApiResponse<?>> action) {
+        if (key == null || key.isBlank()) return action.get();
+        if (key.length() > 128) throw new BadRequestException("Idempotency-Key too long");
+
+        String id = userId + ":" + key;
+        long now = System.currentTimeMillis();
+
+        Entry mine = new Entry(fingerprint, new CompletableFuture<>(), now + ttlMillis);
+        Entry existing = entries.compute(id, (k, e) -> e == null || e.expiresAt() <= now ? mine : e);
+
+        if (existing != mine) return replay(existing, fingerprint);
+
+        // Entries still running are never dropped
+        BoundedMaps.trim(entries, maxSize, now, Entry::expiresAt, e -> e.outcome().isDone());
+
+        Outcome outcome;
+        try {
+            outcome = new Outcome(action.get(), null);
+        } catch (BadRequestException | ResourceNotFoundException ex) {
+            outcome = new Outcome(null, ex);
+        } catch (RuntimeException ex) {
+            entries.remove(id, mine);
+            mine.outcome().completeExceptionally(ex);
+            throw ex;
+        }
+
+        mine.outcome().complete(outcome);
+        return unwrap(outcome);
+    }
+
+    private ApiResponse<?> replay(Entry entry, String fingerprint) {
+        if (!entry.fingerprint().equals(fingerprint))
+            throw new BadRequestException("Idempotency-Key was already used for a different request");
+
+        try {
+            return unwrap(entry.outcome().get(inFlightWaitMillis, TimeUnit.MILLISECONDS));
+        } catch (TimeoutException | ExecutionException ex) {
+            // Original still running, or it failed and the key was released
+            throw new ServiceBusyException("Request in progress, please retry", 1);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Request in progress, please retry", 1);
+        }
+    }
+
+    private static ApiResponse<?> unwrap(Outcome outcome) {
+        if (outcome.error() != null) throw outcome.error();
+        return outcome.response();
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.event.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.event.dto.RegistrationTicket.Status;
+import com.example.event.entity.Event;
+import com.example.event.entity.Registration;
+import com.example.event.entity.User;
+import com.example.event.repository.RegistrationRepository;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Commits one batch of queued registrations for a single event in one
+ * transaction: one duplicate lookup, one ledger reservation, batched inserts
+ * and a single catalog notification.
+ */
+@Service
+@RequiredArgsConstructor
+public class RegistrationBatchWriter {
+
+    private final RegistrationRepository regRepo;
+    private final SeatLedger ledger;
+    private final ApplicationEventPublisher publisher;
+    private final EntityManager em;
+
+    // Outcomes are returned in the order of the given users
+    @Transactional
+    public List<Status> commit(Event event, List<User> users) {
+
+        List<Long> ids = new ArrayList<>(users.size());
+        for (User u : users) ids.add(u.getId());
+        Set<Long> registered = new HashSet<>(regRepo.findRegisteredUserIds(event, ids));
+
+        Status[] out = new Status[users.size()];
+        List<Integer> candidates = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < users.size(); i++) {
+            Long id = ids.get(i);
+            if (registered.contains(id) || !seen.add(id)) out[i] = Status.ALREADY_REGISTERED;
+            else candidates.add(i);
+        }
+
+        // Seats go to the earliest tickets; the rest of the batch is full
+        int granted = candidates.isEmpty() ? 0 : ledger.reserveUpTo(event, candidates.size());
+
+        Event eventRef = em.getReference(Event.class, event.getId());
+        LocalDateTime now = LocalDateTime.now();
+        for (int n = 0; n < candidates.size(); n++) {
+            int i = candidates.get(n);
+            if (n >= granted) {
+                out[i] = Status.EVENT_FULL;
+                continue;
+            }
+
+            Registration r = new Registration();
+            r.setUser(em.getReference(User.class, ids.get(i)));
+            r.setEvent(eventRef);
+            r.setRegisteredAt(now);
+            em.persist(r);
+            out[i] = Status.REGISTERED;
+        }
+
+        if (granted > 0)
+            publisher.publishEvent(new CatalogChanged(event.getId()));
+
+        return List.of(out);
+    }
+}
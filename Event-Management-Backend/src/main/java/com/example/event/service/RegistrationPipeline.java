@@ -0,0 +1,284 @@
+package com.example.event.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.event.dto.RegistrationTicket;
+import com.example.event.dto.RegistrationTicket.Status;
+import com.example.event.entity.Event;
+import com.example.event.entity.User;
+import com.example.event.exception.BadRequestException;
+import com.example.event.exception.ResourceNotFoundException;
+import com.example.event.exception.ServiceBusyException;
+import com.example.event.util.BoundedMaps;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Queued registration for very large events. A request becomes a ticket in its
+ * event's lane; at most one writer drains a lane at a time and commits up to
+ * batch-size tickets per transaction through RegistrationBatchWriter. Clients
+ * poll (or long-poll) the ticket for the outcome.
+ *
+ * If a batch fails as a whole (e.g. a concurrent synchronous registration hit
+ * the unique constraint), its tickets are retried one by one through
+ * RegistrationService so a single bad row cannot sink the others.
+ *
+ * A lane lives only while it has tickets: it is dropped once drained empty,
+ * so events that stop selling leave nothing behind. Settled tickets can be
+ * read by their owner for ticket-ttl ms.
+ */
+@Service
+public class RegistrationPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(RegistrationPipeline.class);
+
+    private final RegistrationBatchWriter writer;
+    private final RegistrationService regService;
+    private final SeatLedger ledger;
+    private final MeterRegistry registry;
+    private final DistributionSummary batchSizes;
+
+    private final ExecutorService writers;
+    private final int batchSize;
+    private final int queueCapacity;
+    private final long ticketTtlMillis;
+    private final int maxTickets;
+
+    private final Map<Long, Lane> lanes = new ConcurrentHashMap<>();
+    private final Map<String, Ticket> tickets = new ConcurrentHashMap<>();
+
+    private static final class Lane {
+        final Long eventId;
+        final Queue<Ticket> queue = new ConcurrentLinkedQueue<>();
+        final AtomicInteger size = new AtomicInteger();
+        final AtomicBoolean draining = new AtomicBoolean();
+
+        Lane(Long eventId) {
+            this.eventId = eventId;
+        }
+    }
+
+    private static final class Ticket {
+        final String id = UUID.randomUUID().toString();
+        final User user;
+        final Event event;
+        final CompletableFuture<RegistrationTicket> done = new CompletableFuture<>();
+        volatile long expiresAt = Long.MAX_VALUE;
+
+        Ticket(User user, Event event) {
+            this.user = user;
+            this.event = event;
+        }
+
+        RegistrationTicket pending() {
+            return new RegistrationTicket(id, event.getId(), Status.PENDING, "Registration queued");
+        }
+
+        RegistrationTicket view() {
+            return done.isDone() ? done.join() : pending();
+        }
+    }
+
+    public RegistrationPipeline(RegistrationBatchWriter writer,
+                                RegistrationService regService,
+                                SeatLedger ledger,
+                                MeterRegistry registry,
+                                @Value("${app.registration.pipeline.writers:4}") int writerThreads,
+                                @Value("${app.registration.pipeline.batch-size:200}") int batchSize,
+                                @Value("${app.registration.pipeline.queue-capacity:10000}") int queueCapacity,
+                                @Value("${app.registration.pipeline.ticket-ttl:600000}") long ticketTtlMillis,
+                                @Value("${app.registration.pipeline.max-tickets:100000}") int maxTickets) {
+        this.writer = writer;
+        this.regService = regService;
+        this.ledger = ledger;
+        this.registry = registry;
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity;
+        this.ticketTtlMillis = ticketTtlMillis;
+        this.maxTickets = maxTickets;
+
+        AtomicInteger seq = new AtomicInteger();
+        this.writers = Executors.newFixedThreadPool(writerThreads, r -> {
+            Thread t = new Thread(r, "registration-writer-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.batchSizes = DistributionSummary.builder("registrations.batch.size")
+                .description("Tickets committed per group-commit transaction")
+                .register(registry);
+    }
+
+    /**
+     * Queues a registration and returns its PENDING ticket. Sold-out events are
+     * rejected right away; a full lane answers 503 with Retry-After.
+     */
+    public RegistrationTicket submit(User user, Event event) {
+        if (ledger.remaining(event) == 0)
+            throw new BadRequestException("Event full");
+
+        // Counted inside compute(), so a drained lane is never dropped under a new ticket
+        int[] queued = new int[1];
+        Lane lane = lanes.compute(event.getId(), (id, l) -> {
+            Lane live = l != null ? l : new Lane(id);
+            queued[0] = live.size.incrementAndGet();
+            return live;
+        });
+        if (queued[0] > queueCapacity) {
+            lane.size.decrementAndGet();
+            dropIfEmpty(lane);
+            throw new ServiceBusyException("Registration queue full, please retry", 1);
+        }
+
+        Ticket t = new Ticket(user, event);
+        tickets.put(t.id, t);
+        // Pending tickets are never dropped
+        BoundedMaps.trim(tickets, maxTickets, System.currentTimeMillis(), ticket -> ticket.expiresAt,
+                ticket -> ticket.done.isDone());
+
+        lane.queue.add(t);
+        schedule(lane);
+        return t.pending();
+    }
+
+    // Completes with the outcome, or with the PENDING view once waitMillis has passed
+    public CompletableFuture<RegistrationTicket> await(String ticketId, User user, long waitMillis) {
+        Ticket t = find(ticketId, user);
+        if (t.done.isDone() || waitMillis <= 0) return CompletableFuture.completedFuture(t.view());
+        return t.done.copy().completeOnTimeout(t.pending(), waitMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private Ticket find(String ticketId, User user) {
+        Ticket t = tickets.get(ticketId);
+        if (t == null || t.expiresAt <= System.currentTimeMillis() || !t.user.getId().equals(user.getId()))
+            throw new ResourceNotFoundException("Ticket not found");
+        return t;
+    }
+
+    private void schedule(Lane lane) {
+        if (!lane.draining.compareAndSet(false, true)) return;
+        try {
+            writers.execute(() -> drain(lane));
+        } catch (RejectedExecutionException shuttingDown) {
+            lane.draining.set(false);
+        }
+    }
+
+    // One batch per turn, then yield the writer so other events' lanes get served
+    private void drain(Lane lane) {
+        try {
+            List<Ticket> batch = new ArrayList<>(batchSize);
+            Ticket t;
+            while (batch.size() < batchSize && (t = lane.queue.poll()) != null) batch.add(t);
+            lane.size.addAndGet(-batch.size());
+
+            if (!batch.isEmpty()) commit(batch);
+        } finally {
+            lane.draining.set(false);
+            if (!lane.queue.isEmpty()) schedule(lane);
+            else dropIfEmpty(lane);
+        }
+    }
+
+    // Safe even while a batch is committing: size only counts tickets still queued
+    private void dropIfEmpty(Lane lane) {
+        lanes.computeIfPresent(lane.eventId, (id, l) -> l == lane && l.size.get() == 0 ? null : l);
+    }
+
+    // Events with queued tickets right now
+    int lanes() {
+        return lanes.size();
+    }
+
+    private void commit(List<Ticket> batch) {
+        Event event = batch.get(0).event;
+        List<User> users = new ArrayList<>(batch.size());
+        for (Ticket t : batch) users.add(t.user);
+
+        List<Status> outcomes;
+        try {
+            ledger.prepare(event, users.size());
+            outcomes = writer.commit(event, users);
+        } catch (RuntimeException ex) {
+            log.warn("Group commit of {} registrations for event {} failed, retrying one by one",
+                    batch.size(), event.getId(), ex);
+            batch.forEach(this::commitOne);
+            return;
+        }
+
+        batchSizes.record(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            Status s = outcomes.get(i);
+            resolve(batch.get(i), s, message(s));
+            registry.counter("registrations", "event", String.valueOf(event.getId()), "outcome", outcomeTag(s))
+                    .increment();
+        }
+    }
+
+    // Fallback path: RegistrationService does its own checks and outcome counting
+    private void commitOne(Ticket t) {
+        try {
+            regService.prepareSeat(t.event);
+            regService.register(t.user, t.event);
+            resolve(t, Status.REGISTERED, message(Status.REGISTERED));
+        } catch (BadRequestException ex) {
+            Status s = switch (String.valueOf(ex.getMessage())) {
+                case "Event full" -> Status.EVENT_FULL;
+                case "Already registered" -> Status.ALREADY_REGISTERED;
+                default -> Status.FAILED;
+            };
+            resolve(t, s, ex.getMessage());
+        } catch (RuntimeException ex) {
+            log.warn("Queued registration {} for event {} failed", t.id, t.event.getId(), ex);
+            resolve(t, Status.FAILED, message(Status.FAILED));
+        }
+    }
+
+    private void resolve(Ticket t, Status status, String message) {
+        t.expiresAt = System.currentTimeMillis() + ticketTtlMillis;
+        t.done.complete(new RegistrationTicket(t.id, t.event.getId(), status, message));
+    }
+
+    private static String message(Status s) {
+        return switch (s) {
+            case REGISTERED -> "Registered successfully";
+            case ALREADY_REGISTERED -> "Already registered";
+            case EVENT_FULL -> "Event full";
+            case FAILED -> "Registration failed";
+            case PENDING -> "Registration queued";
+        };
+    }
+
+    private static String outcomeTag(Status s) {
+        return switch (s) {
+            case REGISTERED -> "success";
+            case ALREADY_REGISTERED -> "already_registered";
+            case EVENT_FULL -> "full";
+            default -> "failed";
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writers.shutdown();
+    }
+}
@@ -2,67 +2,100 @@ package com.example.event.service;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.example.event.dto.RegistrationView;
 import com.example.event.entity.Event;
 import com.example.event.entity.Registration;
 import com.example.event.entity.User;
 import com.example.event.exception.BadRequestException;
 import com.example.event.exception.ResourceNotFoundException;
+import com.example.event.repository.ArchivedRegistrationRepository;
 import com.example.event.repository.EventRepository;
 import com.example.event.repository.RegistrationRepository;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 @Service
 public class RegistrationService {
 
     private final RegistrationRepository regRepo;
     private final EventRepository eventRepo;
-
-    public RegistrationService(EventRepository eventRepo,RegistrationRepository regRepo) {
+    private final SeatLedger ledger;
+    private final WaitlistService waitlist;
+    private final ApplicationEventPublisher publisher;
+    private final MeterRegistry registry;
+    private final ArchivedRegistrationRepository archivedRegs;
+
+    public RegistrationService(EventRepository eventRepo,RegistrationRepository regRepo, SeatLedger ledger,
+                               WaitlistService waitlist, ApplicationEventPublisher publisher,
+                               MeterRegistry registry, ArchivedRegistrationRepository archivedRegs) {
         this.regRepo = regRepo;
         this.eventRepo = eventRepo;
+        this.ledger = ledger;
+        this.waitlist = waitlist;
+        this.publisher = publisher;
+        this.registry = registry;
+        this.archivedRegs = archivedRegs;
     }
 
       
+    @Transactional
     public void unregister(User user, Long eventId) {
+        if (regRepo.deleteByUserAndEvent(user.getId(), eventId) == 0)
+            throw new ResourceNotFoundException("Registration not found");
 
-        Registration r = regRepo.findById(eventId)
-                .orElseThrow(() -> new ResourceNotFoundException("Registration not found"));
-
-        regRepo.delete(r);
+        freeSeat(eventRepo.getReferenceById(eventId));
     }
+
+    @Transactional(readOnly = true)
     public List<Long> myEventIds(User user) {
-        return regRepo.findByUser(user).stream()
-            .map(reg -> reg.getEvent().getId())
-            .distinct()
-            .collect(Collectors.toList());
+        return regRepo.findEventIdsByUser(user.getId());
     }
 
-    
+    // The event id is needed to hand the seat on; neither statement loads an entity
+    @Transactional
     public void unregisterByRegistrationId(User user, Long registrationId) {
-        Registration r = findByIdAndUser(registrationId, user);
-        regRepo.delete(r);
-    }
-    
-    public Registration findByIdAndUser(Long registrationId, User user) {
-        return regRepo.findByIdAndUser(registrationId, user)
-            .orElseThrow(() -> new ResourceNotFoundException("Registration not found"));
+        Long eventId = regRepo.findEventIdByIdAndUser(registrationId, user.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Registration not found"));
+
+        if (regRepo.deleteByIdAndUser(registrationId, user.getId()) == 0)
+            throw new ResourceNotFoundException("Registration not found");
+
+        freeSeat(eventRepo.getReferenceById(eventId));
     }
 
 
+    // Before register(), outside its transaction: see SeatLedger.prepare
+    public void prepareSeat(Event event) {
+        ledger.prepare(event, 1);
+    }
+
+    @Transactional
     public void register(User user, Event event) {
 
     	
     	if (user == null || event == null)
             throw new BadRequestException("Invalid registration");
-    	
-        if (regRepo.existsByUserAndEvent(user, event))
+
+        // Checked first: a repeat click must not hold a seat, however briefly
+        if (regRepo.isRegistered(user.getId(), event.getId())) {
+            countOutcome(event, "already_registered");
             throw new BadRequestException("Already registered");
+        }
 
-        if (regRepo.countByEvent(event) >= event.getMaxCapacity())
+        // Sold-out events are rejected without writing anything;
+        // the seat is handed back if this transaction rolls back
+        if (!ledger.tryReserve(event)) {
+            countOutcome(event, "full");
             throw new BadRequestException("Event full");
+        }
 
         Registration r = new Registration();
         r.setUser(user);
@@ -70,8 +103,50 @@ public class RegistrationService {
         r.setRegisteredAt(LocalDateTime.now());
 
         regRepo.save(r);
+        publisher.publishEvent(new CatalogChanged(event.getId()));
+        countOutcomeAfterCommit(event, "success");
+    }
+
+    private void countOutcome(Event event, String outcome) {
+        registry.counter("registrations", "event", String.valueOf(event.getId()), "outcome", outcome).increment();
+    }
+
+    // Only a committed row is a successful registration
+    private void countOutcomeAfterCommit(Event event, String outcome) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            countOutcome(event, outcome);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                countOutcome(event, outcome);
+            }
+        });
+    }
+    // The seat goes to the head of the waitlist in this transaction, or back to the ledger
+    private void freeSeat(Event event) {
+        if (!waitlist.promoteNext(event)) {
+            ledger.releaseAfterCommit(event.getId());
+            publisher.publishEvent(new CatalogChanged(event.getId()));
+        }
     }
-    public List<Registration> my(User user) {
-        return regRepo.findByUser(user);
+
+    @Transactional(readOnly = true)
+    public List<RegistrationView> my(User user) {
+        return regRepo.findViewsByUser(user.getId());
+    }
+
+    // Registrations for archived (finished) events, keyset on registration id
+    @Transactional(readOnly = true)
+    public List<RegistrationView> history(User user, Long afterId, int size) {
+        int limit = Math.min(Math.max(size, 1), EventService.MAX_PAGE_SIZE);
+        return archivedRegs.findHistory(user.getId(), afterId == null ? 0L : afterId, Limit.of(limit));
+    }
+
+    @Transactional(readOnly = true)
+    public RegistrationView view(Long registrationId, User user) {
+        return regRepo.findView(registrationId, user.getId())
+            .orElseThrow(() -> new ResourceNotFoundException("Registration not found"));
     }
 }
@@ -0,0 +1,185 @@
+package com.example.event.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.event.exception.ServiceBusyException;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Single shared fan-out of seat changes to SSE subscribers. Changes are
+ * collected per event and flushed once per coalescing window as one compact
+ * message, encoded once and queued for every subscriber. Writer threads
+ * drain each subscriber's small buffer; a client that lets its buffer fill
+ * up is disconnected rather than holding back everyone else.
+ */
+@Component
+public class SeatBroadcaster {
+
+    private static final long EMITTER_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(30);
+    private static final long HEARTBEAT_SECONDS = 15;
+
+    private final SeatLedger ledger;
+    private final int maxSubscribers;
+    private final int clientBuffer;
+
+    private final List<Client> subscribers = new CopyOnWriteArrayList<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "seat-broadcaster");
+        t.setDaemon(true);
+        return t;
+    });
+    private final ExecutorService writers;
+
+    public SeatBroadcaster(SeatLedger ledger,
+                           @Value("${app.sse.coalesce-window:250}") long windowMillis,
+                           @Value("${app.sse.max-subscribers:10000}") int maxSubscribers,
+                           @Value("${app.sse.client-buffer:8}") int clientBuffer,
+                           @Value("${app.sse.writer-threads:4}") int writerThreads) {
+        this.ledger = ledger;
+        this.maxSubscribers = maxSubscribers;
+        this.clientBuffer = clientBuffer;
+
+        AtomicInteger writerIds = new AtomicInteger();
+        this.writers = Executors.newFixedThreadPool(writerThreads, r -> {
+            Thread t = new Thread(r, "seat-sse-writer-" + writerIds.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        scheduler.scheduleWithFixedDelay(this::flush, windowMillis, windowMillis, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::heartbeat, HEARTBEAT_SECONDS, HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    public SseEmitter subscribe() {
+        if (subscribers.size() >= maxSubscribers)
+            throw new ServiceBusyException("Too many live subscribers", 5);
+
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MILLIS);
+        Client client = new Client(emitter, new ArrayBlockingQueue<>(clientBuffer));
+        emitter.onCompletion(() -> subscribers.remove(client));
+        emitter.onTimeout(() -> subscribers.remove(client));
+        emitter.onError(ex -> subscribers.remove(client));
+        subscribers.add(client);
+        return emitter;
+    }
+
+    int subscribers() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(CatalogChanged change) {
+        dirty.add(change.eventId());
+    }
+
+    // Data: [{"id":1,"remainingSeats":3},{"id":7,"removed":true}]
+    void flush() {
+        if (dirty.isEmpty()) return;
+
+        List<Long> ids = new ArrayList<>(dirty);
+        dirty.removeAll(ids);
+
+        if (subscribers.isEmpty()) return;
+
+        StringBuilder json = new StringBuilder(ids.size() * 32).append('[');
+        for (Long id : ids) {
+            if (json.length() > 1) json.append(',');
+            OptionalInt left = ledger.peekRemaining(id);
+            json.append("{\"id\":").append(id);
+            if (left.isPresent()) json.append(",\"remainingSeats\":").append(left.getAsInt());
+            else json.append(",\"removed\":true");
+            json.append('}');
+        }
+        json.append(']');
+
+        broadcast(SseEmitter.event().name("seats").data(json.toString()));
+    }
+
+    private void heartbeat() {
+        if (!subscribers.isEmpty()) broadcast(SseEmitter.event().comment("ping"));
+    }
+
+    // Build the frame once; every subscriber gets the same pre-encoded parts.
+    // Only queues here: the socket writes happen on the writer threads
+    private void broadcast(SseEmitter.SseEventBuilder message) {
+        Set<ResponseBodyEmitter.DataWithMediaType> frame = message.build();
+
+        for (Client client : subscribers) {
+            if (!client.pending.offer(frame)) {
+                drop(client, null);
+                continue;
+            }
+            if (client.draining.compareAndSet(false, true)) {
+                try {
+                    writers.execute(() -> drain(client));
+                } catch (RejectedExecutionException shuttingDown) {
+                    client.draining.set(false);
+                }
+            }
+        }
+    }
+
+    // At most one writer per client at a time, so its frames go out in order
+    private void drain(Client client) {
+        do {
+            Set<ResponseBodyEmitter.DataWithMediaType> frame;
+            while ((frame = client.pending.poll()) != null) {
+                try {
+                    client.emitter.send(frame);
+                } catch (IOException | IllegalStateException ex) {
+                    drop(client, ex);
+                    return;
+                }
+            }
+            client.draining.set(false);
+            // A frame queued after the last poll but before the flag cleared is picked up here
+        } while (!client.pending.isEmpty() && client.draining.compareAndSet(false, true));
+    }
+
+    // Slow readers are disconnected; the client reconnects and reloads the counts it missed
+    private void drop(Client client, Throwable cause) {
+        if (!subscribers.remove(client)) return;
+        client.pending.clear();
+        if (cause != null) client.emitter.completeWithError(cause);
+        else client.emitter.complete();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        writers.shutdownNow();
+        subscribers.forEach(c -> c.emitter.complete());
+    }
+
+    private record Client(SseEmitter emitter,
+                          Queue<Set<ResponseBodyEmitter.DataWithMediaType>> pending,
+                          AtomicBoolean draining) {
+
+        Client(SseEmitter emitter, Queue<Set<ResponseBodyEmitter.DataWithMediaType>> pending) {
+            this(emitter, pending, new AtomicBoolean());
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.event.service;
+
+import java.time.LocalDateTime;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.event.entity.Event;
+import com.example.event.entity.SeatLease;
+import com.example.event.entity.SeatPool;
+import com.example.event.repository.EventRepository;
+import com.example.event.repository.RegistrationRepository;
+import com.example.event.repository.SeatLeaseRepository;
+import com.example.event.repository.SeatPoolRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Database side of clustered seat mode, in the spirit of hi/lo id allocation:
+ * a node asks for a block of seats once, then sells them from memory.
+ *
+ * Leasing for an event is serialized on its seat_pool row. A grant never
+ * exceeds maxCapacity minus committed registrations minus every live lease,
+ * so the sum over all nodes stays within capacity. Leases are reported
+ * conservatively (seats in open transactions count as unused), and expired
+ * leases of crashed nodes are dropped before the next grant.
+ *
+ * Every method commits on its own: callers are usually inside a registration
+ * transaction, and the pool row lock must not be held until that one ends.
+ */
+@Component
+@ConditionalOnProperty(name = "app.seats.mode", havingValue = "cluster")
+@RequiredArgsConstructor
+public class SeatLeaseAllocator {
+
+    private final EventRepository eventRepo;
+    private final SeatPoolRepository poolRepo;
+    private final SeatLeaseRepository leaseRepo;
+    private final RegistrationRepository regRepo;
+
+    public record Grant(int seats, int poolFree) {}
+
+    /**
+     * Grants up to wanted more seats to the node's lease, which afterwards holds
+     * unused + granted seats until expiresAt. poolFree is what is left unleased.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Grant lease(Long eventId, String nodeId, int wanted, int unused, LocalDateTime expiresAt) {
+        poolRepo.ensure(eventId);
+        SeatPool pool = poolRepo.lock(eventId).orElseThrow();
+
+        // Capacity as committed now, not as the caller's copy of the event saw it
+        Event event = eventRepo.findById(eventId).orElse(null);
+        if (event == null) return new Grant(0, 0);
+
+        LocalDateTime now = LocalDateTime.now();
+        leaseRepo.deleteExpired(eventId, now);
+
+        // Leases before registrations: a node only lowers its lease after the
+        // registrations it covered committed, so a seat is never missed by both reads
+        long leased = leaseRepo.sumSeatsExcept(eventId, nodeId);
+        long held = leased + regRepo.countByEventId(eventId) + unused;
+        int free = (int) Math.max(0, event.getMaxCapacity() - held);
+        int granted = Math.min(wanted, free);
+
+        SeatLease lease = leaseRepo.findByEventIdAndNodeId(eventId, nodeId).orElseGet(SeatLease::new);
+        lease.setEventId(eventId);
+        lease.setNodeId(nodeId);
+        lease.setSeats(unused + granted);
+        lease.setExpiresAt(expiresAt);
+        leaseRepo.save(lease);
+
+        pool.setLastLeaseAt(now);
+        return new Grant(granted, free - granted);
+    }
+
+    // Reports the node's unused seats and extends the lease; false once it was reclaimed
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean renew(Long eventId, String nodeId, int unused, LocalDateTime expiresAt) {
+        return leaseRepo.renew(eventId, nodeId, unused, expiresAt) == 1;
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void release(Long eventId, String nodeId) {
+        leaseRepo.deleteByEventAndNode(eventId, nodeId);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void releaseAll(String nodeId) {
+        leaseRepo.deleteByNode(nodeId);
+    }
+
+    // Leases of events nobody sells any more; live events are cleaned up in lease()
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int reclaimExpired(LocalDateTime before) {
+        return leaseRepo.deleteExpiredBefore(before);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void drop(Long eventId) {
+        leaseRepo.deleteByEvent(eventId);
+        poolRepo.deleteById(eventId);
+    }
+
+    // Seats neither registered nor leased to any node; an estimate for display
+    @Transactional(readOnly = true)
+    public int poolFree(Event event) {
+        long leased = leaseRepo.sumSeats(event.getId());
+        long held = leased + regRepo.countByEventId(event.getId());
+        return (int) Math.max(0, event.getMaxCapacity() - held);
+    }
+}
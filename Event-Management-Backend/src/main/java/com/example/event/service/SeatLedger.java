@@ -0,0 +1,295 @@
+package com.example.event.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.event.entity.Event;
+import com.example.event.repository.EventRepository;
+import com.example.event.repository.RegistrationRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * In-memory seat counters per event.
+ *
+ * Seats are reserved with a CAS loop before anything touches the database, so a
+ * sold-out event is rejected without a query and maxCapacity can never be
+ * exceeded by concurrent requests on this node. A reservation made inside a
+ * transaction is handed back automatically if that transaction rolls back.
+ *
+ * Every app.seats.reconcile-interval ms the counters are checked against the
+ * Registration table, so rows changed behind the ledger's back cannot leave an
+ * event wrongly full or oversold for longer than that. An event with
+ * reservations or releases still waiting for their transaction is skipped
+ * until the next pass.
+ *
+ * With app.seats.mode=cluster several nodes share the database and every call
+ * is delegated to ClusterSeatLedger, which sells from leased seat blocks.
+ */
+@Component
+public class SeatLedger {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatLedger.class);
+
+    private final EventRepository eventRepo;
+    private final RegistrationRepository regRepo;
+    private final long reconcileMillis;
+
+    private final Map<Long, Seats> seats = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService reconciler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "seat-reconcile");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private ClusterSeatLedger cluster;
+
+    static final class Seats {
+        // Seats taken in the low 32 bits, a change stamp in the high 32 bits:
+        // reconcile() only overwrites a count nobody moved while it was querying
+        final AtomicLong state;
+        // Reservations and releases whose transaction has not completed yet
+        final AtomicInteger unsettled = new AtomicInteger();
+        volatile int capacity;
+
+        Seats(int capacity, int taken) {
+            this.capacity = capacity;
+            this.state = new AtomicLong(taken);
+        }
+
+        int taken() {
+            return (int) state.get();
+        }
+
+        static int taken(long state) {
+            return (int) state;
+        }
+
+        static long next(long state, int taken) {
+            return ((state >>> 32) + 1) << 32 | taken;
+        }
+    }
+
+    public SeatLedger(EventRepository eventRepo, RegistrationRepository regRepo,
+                      @Value("${app.seats.reconcile-interval:60000}") long reconcileMillis) {
+        this.eventRepo = eventRepo;
+        this.regRepo = regRepo;
+        this.reconcileMillis = reconcileMillis;
+    }
+
+    @Autowired(required = false)
+    void setCluster(ClusterSeatLedger cluster) {
+        this.cluster = cluster;
+    }
+
+    // Seed every counter from the Registration table once the context is up;
+    // a read-write transaction keeps this on the primary, never a lagging replica
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void seed() {
+        if (cluster != null) return;
+
+        Map<Long, Long> counts = new HashMap<>();
+        for (Object[] row : regRepo.countGroupedByEvent()) {
+            counts.put((Long) row[0], (Long) row[1]);
+        }
+
+        for (Event e : eventRepo.findAll()) {
+            int taken = counts.getOrDefault(e.getId(), 0L).intValue();
+            seats.put(e.getId(), new Seats(e.getMaxCapacity(), taken));
+        }
+
+        reconciler.scheduleWithFixedDelay(this::reconcile, reconcileMillis, reconcileMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Takes one seat for the event. Returns false when the event is full.
+     * Inside a transaction the seat is released again on rollback.
+     */
+    public boolean tryReserve(Event event) {
+        return reserveUpTo(event, 1) == 1;
+    }
+
+    /**
+     * Clustered mode: tops up this node's seat lease for n registrations, so the
+     * transaction that follows finds its seats without waiting for the database.
+     * Call it before the transaction begins; it reserves nothing.
+     */
+    public void prepare(Event event, int n) {
+        if (cluster != null) cluster.prepare(event, n);
+    }
+
+    /**
+     * Takes up to n seats in one step and returns how many were granted.
+     * Inside a transaction the granted seats are released again on rollback.
+     */
+    public int reserveUpTo(Event event, int n) {
+        if (cluster != null) return cluster.reserveUpTo(event, n);
+
+        Seats s = seatsFor(event);
+
+        // Counted before the seats move, so reconcile() never sees them taken but not in flight
+        boolean inTx = TransactionSynchronizationManager.isSynchronizationActive();
+        if (inTx) s.unsettled.incrementAndGet();
+
+        int granted;
+        while (true) {
+            long state = s.state.get();
+            int current = Seats.taken(state);
+            granted = Math.min(n, Math.max(0, s.capacity - current));
+            if (granted == 0) break;
+            if (s.state.compareAndSet(state, Seats.next(state, current + granted))) break;
+        }
+
+        if (!inTx) return granted;
+        if (granted == 0) {
+            s.unsettled.decrementAndGet();
+            return 0;
+        }
+
+        int reserved = granted;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) release(event.getId(), reserved);
+                s.unsettled.decrementAndGet();
+            }
+        });
+        return granted;
+    }
+
+    // Give a seat back immediately (reservation abandoned before commit)
+    public void release(Long eventId) {
+        release(eventId, 1);
+    }
+
+    public void release(Long eventId, int n) {
+        if (cluster != null) {
+            cluster.release(eventId, n);
+            return;
+        }
+        Seats s = seats.get(eventId);
+        if (s != null) s.state.updateAndGet(v -> Seats.next(v, Math.max(0, Seats.taken(v) - n)));
+    }
+
+    // Give a seat back once the surrounding transaction has committed
+    public void releaseAfterCommit(Long eventId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            Seats s = seats.get(eventId);
+            if (s != null) s.unsettled.incrementAndGet();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) release(eventId);
+                    if (s != null) s.unsettled.decrementAndGet();
+                }
+            });
+        } else {
+            release(eventId);
+        }
+    }
+
+    public int remaining(Event event) {
+        if (cluster != null) return cluster.remaining(event);
+
+        Seats s = seatsFor(event);
+        return Math.max(0, s.capacity - s.taken());
+    }
+
+    // Remaining seats if this node tracks the event; never touches the database
+    public OptionalInt peekRemaining(Long eventId) {
+        if (cluster != null) return cluster.peekRemaining(eventId);
+
+        Seats s = seats.get(eventId);
+        return s == null ? OptionalInt.empty() : OptionalInt.of(Math.max(0, s.capacity - s.taken()));
+    }
+
+    public void track(Event event) {
+        if (cluster != null) {
+            cluster.track(event);
+            return;
+        }
+        seats.compute(event.getId(), (id, s) -> {
+            if (s == null) return new Seats(event.getMaxCapacity(), 0);
+            s.capacity = event.getMaxCapacity();
+            return s;
+        });
+    }
+
+    public void forget(Long eventId) {
+        if (cluster != null) {
+            cluster.forget(eventId);
+            return;
+        }
+        seats.remove(eventId);
+    }
+
+    /**
+     * Resets counters that disagree with the Registration table. The counts are
+     * read after each counter was sampled and a counter is only replaced if it
+     * did not move since, so a reservation racing with the pass is never lost.
+     */
+    void reconcile() {
+        try {
+            Map<Seats, Long> sampled = new HashMap<>();
+            Map<Long, Seats> byEvent = new HashMap<>();
+            seats.forEach((id, s) -> {
+                if (s.unsettled.get() != 0) return;
+                sampled.put(s, s.state.get());
+                byEvent.put(id, s);
+            });
+            if (sampled.isEmpty()) return;
+
+            Map<Long, Long> counts = new HashMap<>();
+            for (Object[] row : regRepo.countGroupedByEvent()) {
+                counts.put((Long) row[0], (Long) row[1]);
+            }
+
+            byEvent.forEach((id, s) -> {
+                long state = sampled.get(s);
+                int actual = counts.getOrDefault(id, 0L).intValue();
+                if (Seats.taken(state) == actual || s.unsettled.get() != 0) return;
+                if (s.state.compareAndSet(state, Seats.next(state, actual))) {
+                    log.warn("Seat counter of event {} drifted: {} taken, {} registered", id, Seats.taken(state), actual);
+                }
+            });
+        } catch (RuntimeException ex) {
+            log.warn("Seat counter reconciliation failed", ex);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reconciler.shutdownNow();
+    }
+
+    private Seats seatsFor(Event event) {
+        Seats s = seats.get(event.getId());
+        if (s != null) return s;
+
+        // Event created elsewhere (or before seeding finished): load it once
+        int taken = (int) regRepo.countByEvent(event);
+        Seats fresh = new Seats(event.getMaxCapacity(), taken);
+        Seats prev = seats.putIfAbsent(event.getId(), fresh);
+        return prev != null ? prev : fresh;
+    }
+}
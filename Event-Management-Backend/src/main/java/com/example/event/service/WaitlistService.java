@@ -0,0 +1,128 @@
+package com.example.event.service;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.event.entity.Event;
+import com.example.event.entity.Registration;
+import com.example.event.entity.User;
+import com.example.event.entity.WaitlistEntry;
+import com.example.event.exception.BadRequestException;
+import com.example.event.exception.ResourceNotFoundException;
+import com.example.event.repository.EventRepository;
+import com.example.event.repository.RegistrationRepository;
+import com.example.event.repository.WaitlistRepository;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class WaitlistService {
+
+    private final WaitlistRepository waitRepo;
+    private final RegistrationRepository regRepo;
+    private final EventRepository eventRepo;
+    private final SeatLedger ledger;
+
+    // Returns the 1-based position in the queue
+    @Transactional
+    public long join(User user, Event event) {
+
+        if (user == null || event == null)
+            throw new BadRequestException("Invalid waitlist request");
+
+        Optional<WaitlistEntry> existing = waitRepo.findByUserAndEvent(user, event);
+        if (existing.isPresent())
+            return position(existing.get());
+
+        if (regRepo.isRegistered(user.getId(), event.getId()))
+            throw new BadRequestException("Already registered");
+
+        if (ledger.remaining(event) > 0)
+            throw new BadRequestException("Seats available, register instead");
+
+        eventRepo.bumpWaitlistSeq(event.getId());
+
+        WaitlistEntry w = new WaitlistEntry();
+        w.setUser(user);
+        w.setEvent(event);
+        w.setSeq(eventRepo.findWaitlistSeq(event.getId()));
+        w.setJoinedAt(LocalDateTime.now());
+
+        return position(waitRepo.save(w));
+    }
+
+    public long position(User user, Event event) {
+        return waitRepo.findByUserAndEvent(user, event)
+                .map(this::position)
+                .orElseThrow(() -> new ResourceNotFoundException("Not on waitlist"));
+    }
+
+    @Transactional
+    public void leave(User user, Event event) {
+        WaitlistEntry w = waitRepo.findByUserAndEvent(user, event)
+                .orElseThrow(() -> new ResourceNotFoundException("Not on waitlist"));
+        waitRepo.delete(w);
+    }
+
+    /**
+     * Gives a just-freed seat to the head of the queue, inside the caller's
+     * transaction. Returns false when nobody is waiting and the seat stays free.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean promoteNext(Event event) {
+        Optional<WaitlistEntry> next = nextWaiting(event);
+        next.ifPresent(this::enroll);
+        return next.isPresent();
+    }
+
+    // Capacity went up: move waiting students into the new seats
+    @Transactional
+    public int fill(Event event) {
+        int promoted = 0;
+
+        while (true) {
+            Optional<WaitlistEntry> next = nextWaiting(event);
+            if (next.isEmpty() || !ledger.tryReserve(event)) break;
+
+            enroll(next.get());
+            promoted++;
+        }
+        return promoted;
+    }
+
+    private Optional<WaitlistEntry> nextWaiting(Event event) {
+        while (true) {
+            Optional<WaitlistEntry> head = waitRepo.findFirstByEventOrderBySeqAsc(event);
+            if (head.isEmpty()) return head;
+
+            // Registered some other way since joining: drop the stale entry
+            WaitlistEntry w = head.get();
+            if (!regRepo.isRegistered(w.getUser().getId(), event.getId())) return head;
+            waitRepo.delete(w);
+            waitRepo.flush();
+        }
+    }
+
+    private void enroll(WaitlistEntry w) {
+        Registration r = new Registration();
+        r.setUser(w.getUser());
+        r.setEvent(w.getEvent());
+        r.setRegisteredAt(LocalDateTime.now());
+
+        waitRepo.delete(w);
+        regRepo.save(r);
+    }
+
+    // Distance from the head of the queue, not a count of the entries ahead: students
+    // who left from the middle still count until the head passes them, so a position
+    // is never lower than the true one
+    private long position(WaitlistEntry w) {
+        long head = waitRepo.findHeadSeq(w.getEvent()).orElse(w.getSeq());
+        return w.getSeq() - head + 1;
+    }
+}
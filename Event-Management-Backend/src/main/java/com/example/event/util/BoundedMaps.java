@@ -0,0 +1,34 @@
+package com.example.event.util;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * Size bound for the in-memory maps that stand in for a cache: principals,
+ * Idempotency-Key outcomes and registration tickets.
+ */
+public final class BoundedMaps {
+
+    private BoundedMaps() {
+    }
+
+    /**
+     * Once the map holds more than maxSize values, drops the expired ones; if
+     * still over budget, drops evictable ones in iteration order down to 90% of
+     * maxSize, so the next inserts do not each pay for another pass.
+     */
+    public static <V> void trim(Map<?, V> map, int maxSize, long now,
+                                ToLongFunction<V> expiresAt, Predicate<V> evictable) {
+        if (map.size() <= maxSize) return;
+
+        map.values().removeIf(v -> expiresAt.applyAsLong(v) <= now);
+
+        Iterator<V> it = map.values().iterator();
+        int target = maxSize - maxSize / 10;
+        while (map.size() > target && it.hasNext()) {
+            if (evictable.test(it.next())) it.remove();
+        }
+    }
+}
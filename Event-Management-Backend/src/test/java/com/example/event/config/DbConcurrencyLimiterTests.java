@@ -0,0 +1,70 @@
+package com.example.event.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.event.entity.Role;
+import com.example.event.entity.User;
+import com.example.event.repository.UserRepository;
+import com.example.event.security.JwtUtil;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@ActiveProfiles("local")
+@SpringBootTest(properties = "app.db.max-concurrency=4")
+@AutoConfigureMockMvc
+class DbConcurrencyLimiterTests {
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@Autowired
+	private MeterRegistry registry;
+
+	@MockitoSpyBean
+	private UserRepository userRepo;
+
+	@Test
+	void principalLookupRunsInsideThePermit() throws Exception {
+		User u = new User();
+		u.setName("Limited");
+		u.setEmail("limited@example.com");
+		u.setPassword("x");
+		u.setRole(Role.STUDENT);
+		userRepo.save(u);
+
+		// The JWT filter's cache miss goes to the users table: a permit must already be held
+		List<Double> inUse = new ArrayList<>();
+		Answer<?> real = mockingDetails(userRepo).getMockCreationSettings().getDefaultAnswer();
+		doAnswer(inv -> {
+			inUse.add(registry.get("app.db.limiter.in-use").gauge().value());
+			return real.answer(inv);
+		}).when(userRepo).findByEmail(anyString());
+
+		mvc.perform(get("/api/events/available")
+						.header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtUtil.generateToken(u.getEmail(), Role.STUDENT.name())))
+				.andExpect(status().isOk());
+
+		assertThat(inUse).isNotEmpty().allMatch(n -> n >= 1);
+	}
+}
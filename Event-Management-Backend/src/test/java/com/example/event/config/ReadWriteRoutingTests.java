@@ -0,0 +1,193 @@
+package com.example.event.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.event.dto.EventSeats;
+import com.example.event.dto.RegisterRequest;
+import com.example.event.entity.Event;
+import com.example.event.entity.Role;
+import com.example.event.entity.User;
+import com.example.event.repository.EventRepository;
+import com.example.event.exception.BadRequestException;
+import com.example.event.exception.ResourceNotFoundException;
+import com.example.event.repository.UserRepository;
+import com.example.event.security.JwtUtil;
+import com.example.event.service.AuthService;
+import com.example.event.service.EventService;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Two independent in-memory databases: the "local" primary and an empty
+ * replica. Nothing replicates between them, so which one answered a query
+ * shows where it was routed.
+ */
+@ActiveProfiles("local")
+@SpringBootTest(properties = {
+		ReadWriteRoutingTests.REPLICA_PROPERTY,
+		"spring.datasource.hikari.connection-timeout=3456",
+		"spring.datasource.hikari.minimum-idle=2" })
+@AutoConfigureMockMvc
+class ReadWriteRoutingTests {
+
+	static final String REPLICA_URL =
+			"jdbc:h2:mem:replica;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'classpath:replica-schema.sql'";
+	static final String REPLICA_PROPERTY = "app.datasource.replicas=" + REPLICA_URL;
+
+	@Autowired
+	private EventService eventService;
+
+	@Autowired
+	private EventRepository eventRepo;
+
+	@Autowired
+	private UserRepository userRepo;
+
+	@Autowired
+	private ReplicaStickiness stickiness;
+
+	@Autowired
+	private TransactionTemplate tx;
+
+	@Autowired
+	private AuthService authService;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private HikariDataSource primaryPool;
+
+	@Autowired
+	private ReplicaRouter replicaRouter;
+
+	private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+	@AfterEach
+	void clearPrincipal() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void hikariSettingsApplyToEveryPool() {
+		assertThat(primaryPool.getConnectionTimeout()).isEqualTo(3456);
+		assertThat(primaryPool.getMinimumIdle()).isEqualTo(2);
+		assertThat(primaryPool.getMaximumPoolSize()).isEqualTo(20);
+		assertThat(replicaRouter.replicas()).singleElement().satisfies(replica -> {
+			assertThat(replica.getConnectionTimeout()).isEqualTo(3456);
+			assertThat(replica.getMinimumIdle()).isEqualTo(2);
+			assertThat(replica.getMaximumPoolSize()).isEqualTo(20);
+			assertThat(replica.getJdbcUrl()).isEqualTo(REPLICA_URL);
+		});
+	}
+
+	@Test
+	void writesGoToPrimaryOnly() {
+		eventService.create(event("Primary only"));
+
+		assertThat(replica.queryForObject("select count(*) from event", Long.class)).isZero();
+		Long onPrimary = tx.execute(s -> eventRepo.count());
+		assertThat(onPrimary).isPositive();
+	}
+
+	@Test
+	void readOnlyTransactionsGoToReplica() {
+		Event e = eventService.create(event("Not replicated"));
+
+		// Spring Data's count() is read-only, the service read is @Transactional(readOnly = true)
+		assertThat(eventRepo.count()).isZero();
+		assertThatThrownBy(() -> eventService.getRegisteredStudents(e.getId()))
+				.isInstanceOf(ResourceNotFoundException.class);
+	}
+
+	@Test
+	void etaggedCatalogReadsStayOnThePrimary() {
+		Event e = eventService.create(event("Served under the new ETag"));
+
+		assertThat(eventService.allWithSeats(null, EventService.MAX_PAGE_SIZE).getItems())
+				.extracting(EventSeats::getId)
+				.contains(e.getId());
+		assertThat(eventService.all())
+				.extracting(Event::getId)
+				.contains(e.getId());
+	}
+
+	@Test
+	void userIsPinnedToPrimaryAfterWriting() {
+		User user = userRepo.save(student("sticky@example.com"));
+		Event e = eventService.create(event("Just registered for"));
+
+		SecurityContextHolder.getContext().setAuthentication(
+				new UsernamePasswordAuthenticationToken(user, null, List.of()));
+		assertThatThrownBy(() -> eventService.getRegisteredStudents(e.getId()))
+				.isInstanceOf(ResourceNotFoundException.class);
+
+		stickiness.mark(user.getId());
+		assertThat(eventService.getRegisteredStudents(e.getId())).isEmpty();
+	}
+
+	@Test
+	void justSignedUpUserIsAuthenticatedWhileReplicaLags() throws Exception {
+		// Only on the primary: the replica has not caught up with the sign-up yet
+		User user = userRepo.save(student("fresh@example.com"));
+		String token = jwtUtil.generateToken(user.getEmail(), Role.STUDENT.name());
+
+		mvc.perform(get("/api/registrations/my").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void duplicateEmailIsCaughtWhileReplicaLags() {
+		userRepo.save(student("taken@example.com"));
+
+		RegisterRequest again = new RegisterRequest();
+		again.setName("Student");
+		again.setEmail("taken@example.com");
+		again.setPassword("secret");
+		again.setRole(Role.STUDENT);
+
+		assertThatThrownBy(() -> authService.register(again))
+				.isInstanceOf(BadRequestException.class)
+				.hasMessage("Email already exists");
+	}
+
+	private static Event event(String title) {
+		Event e = new Event();
+		e.setTitle(title);
+		e.setVenue("Main hall");
+		e.setMaxCapacity(10);
+		e.setDateTime(LocalDateTime.now().plusDays(1));
+		return e;
+	}
+
+	private static User student(String email) {
+		User u = new User();
+		u.setName("Student");
+		u.setEmail(email);
+		u.setPassword("x");
+		u.setRole(Role.STUDENT);
+		return u;
+	}
+}
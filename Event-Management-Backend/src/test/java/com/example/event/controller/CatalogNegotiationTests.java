@@ -0,0 +1,122 @@
+package com.example.event.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.event.entity.Event;
+import com.example.event.entity.Role;
+import com.example.event.entity.User;
+import com.example.event.repository.UserRepository;
+import com.example.event.security.JwtUtil;
+import com.example.event.service.EventService;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+@ActiveProfiles("local")
+@SpringBootTest
+@AutoConfigureMockMvc
+class CatalogNegotiationTests {
+
+	private static final String AVAILABLE = "/api/events/available";
+	private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@Autowired
+	private UserRepository userRepo;
+
+	@Autowired
+	private EventService eventService;
+
+	private String bearer;
+
+	@BeforeEach
+	void setUp() {
+		String email = "negotiation-" + System.nanoTime() + "@example.com";
+		User u = new User();
+		u.setName("Negotiation");
+		u.setEmail(email);
+		u.setPassword("x");
+		u.setRole(Role.STUDENT);
+		userRepo.save(u);
+		bearer = "Bearer " + jwtUtil.generateToken(email, Role.STUDENT.name());
+
+		Event e = new Event();
+		e.setTitle("Negotiated");
+		e.setVenue("Main hall");
+		e.setMaxCapacity(5);
+		e.setDateTime(LocalDateTime.now().plusDays(1));
+		eventService.create(e);
+	}
+
+	@Test
+	void cborIsEncodedByTheConverter() throws Exception {
+		byte[] body = fetch("application/cbor").getContentAsByteArray();
+
+		JsonNode tree = CBORMapper.builder().build().readTree(body);
+		assertThat(tree.get("success").asBoolean()).isTrue();
+		assertThat(tree.get("data").get("items").isArray()).isTrue();
+	}
+
+	@Test
+	void smileIsEncodedByTheConverter() throws Exception {
+		mvc.perform(get(AVAILABLE).header(HttpHeaders.AUTHORIZATION, bearer).accept(SMILE))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith(SMILE));
+	}
+
+	@Test
+	void binaryPreferredByQualityWinsOverJson() throws Exception {
+		fetch("application/json;q=0.5, application/cbor");
+	}
+
+	@Test
+	void jsonClientsGetTheSnapshot() {
+		for (String accept : new String[] {
+				"application/json",
+				"*/*",
+				"application/json, application/cbor;q=0",
+				"application/json, application/cbor;q=0.5",
+				"application/json, application/*",
+				"text/plain-cbor-smile, */*",
+				"not a media type" }) {
+			await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+					mvc.perform(get(AVAILABLE).header(HttpHeaders.AUTHORIZATION, bearer).header(HttpHeaders.ACCEPT, accept))
+							.andExpect(status().isOk())
+							.andExpect(content().contentType(MediaType.APPLICATION_JSON))
+							// only the pre-encoded snapshot path sets these
+							.andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+							.andExpect(header().exists(HttpHeaders.ETAG)));
+		}
+	}
+
+	private MockHttpServletResponse fetch(String accept) throws Exception {
+		return mvc.perform(get(AVAILABLE).header(HttpHeaders.AUTHORIZATION, bearer).header(HttpHeaders.ACCEPT, accept))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+				.andReturn().getResponse();
+	}
+}
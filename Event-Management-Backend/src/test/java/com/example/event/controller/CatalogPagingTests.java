@@ -0,0 +1,142 @@
+package com.example.event.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.example.event.entity.Event;
+import com.example.event.entity.Role;
+import com.example.event.entity.User;
+import com.example.event.repository.EventRepository;
+import com.example.event.repository.UserRepository;
+import com.example.event.security.JwtUtil;
+import com.example.event.service.EventService;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * The catalog's next cursor: walking /available by data.next visits every
+ * event once and stops without an extra empty request, both from the
+ * database and from the pre-encoded snapshot.
+ */
+@ActiveProfiles("local")
+@SpringBootTest
+@AutoConfigureMockMvc
+class CatalogPagingTests {
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@Autowired
+	private UserRepository userRepo;
+
+	@Autowired
+	private EventRepository eventRepo;
+
+	@Autowired
+	private EventService eventService;
+
+	@Autowired
+	private ObjectMapper mapper;
+
+	@Test
+	void smallPagesFromTheDatabaseEndWithoutANextCursor() throws Exception {
+		createEvents(5);
+		String bearer = bearer("paging-db@example.com");
+
+		List<Long> seen = new ArrayList<>();
+		int requests = 0;
+		Long after = null;
+		do {
+			JsonNode data = page(bearer, after, 2);
+			requests++;
+			assertThat(data.get("items").size()).isLessThanOrEqualTo(2);
+			data.get("items").forEach(e -> seen.add(e.get("id").asLong()));
+			after = data.get("next").isNull() ? null : data.get("next").asLong();
+		} while (after != null);
+
+		assertThat(seen).containsExactlyElementsOf(allIds());
+		assertThat(requests).isEqualTo((seen.size() + 1) / 2);
+	}
+
+	@Test
+	void fullSizePagesFromTheSnapshotEndWithoutANextCursor() throws Exception {
+		createEvents(EventService.MAX_PAGE_SIZE + 1);
+		String bearer = bearer("paging-snapshot@example.com");
+		List<Long> expected = allIds();
+
+		// Wait for the snapshot that has all of them
+		await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+			MockHttpServletResponse last = fetch(bearer, expected.get(EventService.MAX_PAGE_SIZE - 1), null);
+			assertThat(last.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("no-cache");
+			assertThat(mapper.readTree(last.getContentAsString()).get("data").get("items").size())
+					.isEqualTo(expected.size() - EventService.MAX_PAGE_SIZE);
+		});
+
+		List<Long> seen = new ArrayList<>();
+		Long after = null;
+		do {
+			JsonNode data = page(bearer, after, null);
+			data.get("items").forEach(e -> seen.add(e.get("id").asLong()));
+			after = data.get("next").isNull() ? null : data.get("next").asLong();
+		} while (after != null);
+
+		assertThat(seen).containsExactlyElementsOf(expected);
+	}
+
+	private JsonNode page(String bearer, Long after, Integer size) throws Exception {
+		return mapper.readTree(fetch(bearer, after, size).getContentAsString()).get("data");
+	}
+
+	private MockHttpServletResponse fetch(String bearer, Long after, Integer size) throws Exception {
+		MockHttpServletRequestBuilder req = get("/api/events/available").header(HttpHeaders.AUTHORIZATION, bearer);
+		if (after != null) req.param("after", after.toString());
+		if (size != null) req.param("size", size.toString());
+		return mvc.perform(req).andExpect(status().isOk()).andReturn().getResponse();
+	}
+
+	private List<Long> allIds() {
+		return eventRepo.findAll().stream().map(Event::getId).sorted().toList();
+	}
+
+	private void createEvents(int n) {
+		for (int i = 0; i < n; i++) {
+			Event e = new Event();
+			e.setTitle("Paged " + i);
+			e.setVenue("Main hall");
+			e.setMaxCapacity(10);
+			e.setDateTime(LocalDateTime.now().plusDays(1));
+			eventService.create(e);
+		}
+	}
+
+	private String bearer(String email) {
+		User u = new User();
+		u.setName("Paging");
+		u.setEmail(email);
+		u.setPassword("x");
+		u.setRole(Role.STUDENT);
+		userRepo.save(u);
+		return "Bearer " + jwtUtil.generateToken(email, Role.STUDENT.name());
+	}
+}
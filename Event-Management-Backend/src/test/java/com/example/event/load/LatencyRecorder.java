@@ -0,0 +1,58 @@
+package com.example.event.load;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-operation latency samples and outcome counts for one load run.
+ */
+class LatencyRecorder {
+
+	private final String name;
+	private final AtomicLongArray samples;
+	private final AtomicInteger count = new AtomicInteger();
+	private final Map<String, AtomicInteger> outcomes = new ConcurrentHashMap<>();
+
+	LatencyRecorder(String name, int capacity) {
+		this.name = name;
+		this.samples = new AtomicLongArray(capacity);
+	}
+
+	void record(long nanos, String outcome) {
+		int i = count.getAndIncrement();
+		if (i < samples.length()) samples.set(i, nanos);
+		outcomes.computeIfAbsent(outcome, o -> new AtomicInteger()).incrementAndGet();
+	}
+
+	int outcome(String outcome) {
+		AtomicInteger n = outcomes.get(outcome);
+		return n == null ? 0 : n.get();
+	}
+
+	int total() {
+		return count.get();
+	}
+
+	String report(long wallNanos) {
+		int n = Math.min(count.get(), samples.length());
+		if (n == 0) return String.format("%-22s no requests%n", name);
+
+		long[] sorted = new long[n];
+		for (int i = 0; i < n; i++) sorted[i] = samples.get(i);
+		Arrays.sort(sorted);
+
+		int errors = outcome("error");
+		return String.format("%-22s n=%-6d %8.0f req/s  p50=%7.2fms  p95=%7.2fms  p99=%7.2fms  max=%7.2fms  errors=%.2f%%  %s%n",
+				name, n,
+				n / (wallNanos / 1e9),
+				sorted[(int) (n * 0.50)] / 1e6,
+				sorted[Math.min(n - 1, (int) (n * 0.95))] / 1e6,
+				sorted[Math.min(n - 1, (int) (n * 0.99))] / 1e6,
+				sorted[n - 1] / 1e6,
+				100.0 * errors / n,
+				outcomes);
+	}
+}
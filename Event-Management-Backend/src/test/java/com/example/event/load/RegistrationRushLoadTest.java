@@ -0,0 +1,212 @@
+package com.example.event.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.event.entity.Event;
+import com.example.event.entity.Role;
+import com.example.event.entity.User;
+import com.example.event.repository.EventRepository;
+import com.example.event.repository.RegistrationRepository;
+import com.example.event.repository.UserRepository;
+import com.example.event.service.EventService;
+
+/**
+ * Flash registration: every student logs in, then all of them fetch the
+ * catalog and try to register at the same instant. Runs against the app on
+ * the embedded "local" profile, prints throughput / latency / outcome
+ * figures, and checks that no event ends up above maxCapacity.
+ *
+ *   mvn -Pload-test test -Dload.students=5000 -Dload.concurrency=500
+ *
+ * VirtualThreadRushLoadTest runs the same scenarios with the "vt" profile on
+ * top, so the two reports compare thread models on the real endpoints.
+ */
+@Tag("load")
+@ActiveProfiles("local")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class RegistrationRushLoadTest {
+
+	private static final String PASSWORD = "rush-password";
+
+	private final int students = Integer.getInteger("load.students", 2000);
+	private final int concurrency = Integer.getInteger("load.concurrency", 256);
+	private final int capacity = Integer.getInteger("load.capacity", 100);
+
+	@Value("${local.server.port}")
+	private int port;
+
+	@Value("${spring.threads.virtual.enabled:false}")
+	private boolean virtualThreads;
+
+	@Autowired
+	private UserRepository userRepo;
+
+	@Autowired
+	private EventRepository eventRepo;
+
+	@Autowired
+	private RegistrationRepository regRepo;
+
+	@Autowired
+	private EventService eventService;
+
+	@Autowired
+	private PasswordEncoder encoder;
+
+	private final List<String> emails = new ArrayList<>();
+
+	@BeforeEach
+	void seedStudents() {
+		regRepo.deleteAllInBatch();
+
+		// One hash for everyone: seeding should not be the bottleneck
+		String hash = encoder.encode(PASSWORD);
+		List<User> batch = new ArrayList<>();
+		long run = System.nanoTime();
+		for (int i = 0; i < students; i++) {
+			User u = new User();
+			u.setName("Student " + i);
+			u.setEmail("rush-" + run + "-" + i + "@example.com");
+			u.setPassword(hash);
+			u.setRole(Role.STUDENT);
+			batch.add(u);
+			emails.add(u.getEmail());
+		}
+		userRepo.saveAll(batch);
+	}
+
+	@Test
+	void singleHotEvent() throws Exception {
+		Event hot = eventService.create(event("Hot event", capacity));
+
+		Map<String, LatencyRecorder> report = rush(List.of(hot.getId()));
+
+		long registered = regRepo.countByEvent(hot);
+		assertThat(registered).isEqualTo(report.get("register").outcome("ok"));
+		assertThat(registered).isLessThanOrEqualTo(capacity);
+		assertNoOverbooking();
+		assertNoServerErrors(report);
+	}
+
+	@Test
+	void manyEventsUnevenDemand() throws Exception {
+		List<Long> ids = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			ids.add(eventService.create(event("Event " + i, Math.max(1, capacity / (i + 1)))).getId());
+		}
+
+		Map<String, LatencyRecorder> report = rush(ids);
+
+		assertNoOverbooking();
+		assertNoServerErrors(report);
+	}
+
+	private Map<String, LatencyRecorder> rush(List<Long> eventIds) throws Exception {
+		HttpClient http = HttpClient.newBuilder()
+				.connectTimeout(Duration.ofSeconds(10))
+				.executor(Executors.newFixedThreadPool(8))
+				.build();
+		RushClient client = new RushClient(http, "http://localhost:" + port);
+
+		int samples = students * 4;
+		Map<String, LatencyRecorder> rec = new HashMap<>();
+		rec.put("login", new LatencyRecorder("POST /auth/login", samples));
+		rec.put("catalog", new LatencyRecorder("GET /events/available", samples));
+		rec.put("register", new LatencyRecorder("POST /registrations/{id}", samples));
+
+		ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+		try {
+			// Phase 1: login storm
+			long loginStart = System.nanoTime();
+			List<Future<String>> tokens = new ArrayList<>();
+			for (String email : emails) {
+				tokens.add(pool.submit(() -> client.login(email, PASSWORD, rec.get("login"))));
+			}
+			List<String> loggedIn = new ArrayList<>();
+			for (Future<String> f : tokens) {
+				String t = f.get();
+				if (t != null) loggedIn.add(t);
+			}
+			long loginWall = System.nanoTime() - loginStart;
+
+			// Phase 2: everyone hits catalog + register at the same moment
+			CountDownLatch go = new CountDownLatch(1);
+			List<Future<?>> rushers = new ArrayList<>();
+			for (String token : loggedIn) {
+				rushers.add(pool.submit(() -> {
+					go.await();
+					client.get("/api/events/available", token, rec.get("catalog"));
+
+					// Skewed demand: most students want the first few events
+					int pick = (int) Math.min(eventIds.size() - 1,
+							Math.abs(ThreadLocalRandom.current().nextGaussian()) * 3);
+					client.post("/api/registrations/" + eventIds.get(pick), token, rec.get("register"));
+					return null;
+				}));
+			}
+
+			long rushStart = System.nanoTime();
+			go.countDown();
+			for (Future<?> f : rushers) f.get();
+			long rushWall = System.nanoTime() - rushStart;
+
+			System.out.printf("%n=== Registration rush: %d students, concurrency %d, %d event(s), %s threads ===%n",
+					students, concurrency, eventIds.size(), virtualThreads ? "virtual" : "platform");
+			System.out.print(rec.get("login").report(loginWall));
+			System.out.print(rec.get("catalog").report(rushWall));
+			System.out.print(rec.get("register").report(rushWall));
+			System.out.printf("logged in: %d / %d%n", loggedIn.size(), students);
+			return rec;
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	private void assertNoOverbooking() {
+		Map<Long, Integer> capacities = new HashMap<>();
+		eventRepo.findAll().forEach(e -> capacities.put(e.getId(), e.getMaxCapacity()));
+
+		for (Object[] row : regRepo.countGroupedByEvent()) {
+			Long eventId = (Long) row[0];
+			Long count = (Long) row[1];
+			System.out.printf("event %d: %d / %d seats%n", eventId, count, capacities.get(eventId));
+			assertThat(count).as("registrations for event %d", eventId)
+					.isLessThanOrEqualTo(capacities.get(eventId).longValue());
+		}
+	}
+
+	private static void assertNoServerErrors(Map<String, LatencyRecorder> report) {
+		report.values().forEach(r -> assertThat(r.outcome("error")).isZero());
+	}
+
+	private static Event event(String title, int capacity) {
+		Event e = new Event();
+		e.setTitle(title);
+		e.setVenue("Main hall");
+		e.setMaxCapacity(capacity);
+		e.setDateTime(LocalDateTime.now().plusDays(7));
+		return e;
+	}
+}
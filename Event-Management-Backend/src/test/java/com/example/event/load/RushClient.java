@@ -0,0 +1,87 @@
+package com.example.event.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Thin HTTP client for one simulated student. Requests that are shed with
+ * 429/503 are retried after Retry-After, up to a small limit.
+ */
+class RushClient {
+
+	private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+	private static final int MAX_RETRIES = 20;
+
+	private final HttpClient http;
+	private final String baseUrl;
+
+	RushClient(HttpClient http, String baseUrl) {
+		this.http = http;
+		this.baseUrl = baseUrl;
+	}
+
+	String login(String email, String password, LatencyRecorder rec) throws InterruptedException {
+		String body = "{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}";
+		HttpResponse<String> res = send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(body)), rec);
+
+		if (res == null || res.statusCode() != 200) return null;
+		Matcher m = TOKEN.matcher(res.body());
+		return m.find() ? m.group(1) : null;
+	}
+
+	HttpResponse<String> get(String path, String token, LatencyRecorder rec) throws InterruptedException {
+		return send(HttpRequest.newBuilder(URI.create(baseUrl + path))
+				.header("Authorization", "Bearer " + token)
+				.GET(), rec);
+	}
+
+	HttpResponse<String> post(String path, String token, LatencyRecorder rec) throws InterruptedException {
+		return send(HttpRequest.newBuilder(URI.create(baseUrl + path))
+				.header("Authorization", "Bearer " + token)
+				.POST(HttpRequest.BodyPublishers.noBody()), rec);
+	}
+
+	private HttpResponse<String> send(HttpRequest.Builder builder, LatencyRecorder rec) throws InterruptedException {
+		HttpRequest request = builder.timeout(Duration.ofSeconds(30)).build();
+
+		for (int attempt = 0; ; attempt++) {
+			long start = System.nanoTime();
+			HttpResponse<String> res;
+			try {
+				res = http.send(request, HttpResponse.BodyHandlers.ofString());
+			} catch (IOException ex) {
+				rec.record(System.nanoTime() - start, "error");
+				return null;
+			}
+			long took = System.nanoTime() - start;
+			int status = res.statusCode();
+
+			if ((status == 429 || status == 503) && attempt < MAX_RETRIES) {
+				rec.record(took, "shed");
+				long wait = res.headers().firstValueAsLong("Retry-After").orElse(1);
+				Thread.sleep(Math.min(wait, 2) * 1000L / 4 + (long) (Math.random() * 100));
+				continue;
+			}
+
+			rec.record(took, classify(status, res.body()));
+			return res;
+		}
+	}
+
+	private static String classify(int status, String body) {
+		if (status >= 200 && status < 300) return "ok";
+		if (status == 304) return "not-modified";
+		if (status == 400 && body.contains("Event full")) return "full";
+		if (status == 400 && body.contains("Already registered")) return "already";
+		if (status == 429 || status == 503) return "shed";
+		return "error";
+	}
+}
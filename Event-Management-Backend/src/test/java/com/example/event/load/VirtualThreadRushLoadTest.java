@@ -0,0 +1,17 @@
+package com.example.event.load;
+
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * The registration rush with virtual-thread request handling and the DB
+ * concurrency limiter ("vt" profile). Spring only switches to virtual threads
+ * on Java 21, so this needs the virtual-threads build:
+ *
+ *   mvn -Pvirtual-threads,load-test test -Dtest='*RushLoadTest'
+ */
+@EnabledForJreRange(min = JRE.JAVA_21)
+@ActiveProfiles("vt")
+class VirtualThreadRushLoadTest extends RegistrationRushLoadTest {
+}
@@ -0,0 +1,65 @@
+package com.example.event.security;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.event.entity.Role;
+import com.example.event.entity.User;
+import com.example.event.repository.UserRepository;
+
+@ActiveProfiles("local")
+@SpringBootTest
+@AutoConfigureMockMvc
+class MetricsEndpointSecurityTests {
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@Autowired
+	private UserRepository userRepo;
+
+	@Test
+	void prometheusIsNotPublic() throws Exception {
+		mvc.perform(get("/actuator/prometheus"))
+				.andExpect(status().isForbidden());
+	}
+
+	@Test
+	void prometheusIsClosedToStudents() throws Exception {
+		mvc.perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, bearer("metrics-student@example.com", Role.STUDENT)))
+				.andExpect(status().isForbidden());
+	}
+
+	@Test
+	void adminsCanScrapePrometheus() throws Exception {
+		mvc.perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, bearer("metrics-admin@example.com", Role.ADMIN)))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void healthStaysPublic() throws Exception {
+		mvc.perform(get("/actuator/health"))
+				.andExpect(status().isOk());
+	}
+
+	private String bearer(String email, Role role) {
+		User u = new User();
+		u.setName("Metrics");
+		u.setEmail(email);
+		u.setPassword("x");
+		u.setRole(role);
+		userRepo.save(u);
+		return "Bearer " + jwtUtil.generateToken(email, role.name());
+	}
+}
@@ -0,0 +1,87 @@
+package com.example.event.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.example.event.exception.ServiceBusyException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PasswordHasherTests {
+
+	private final CountDownLatch release = new CountDownLatch(1);
+	private final CountDownLatch started = new CountDownLatch(1);
+
+	// Holds the single hashing thread until the test lets go
+	private final PasswordEncoder blocking = new PasswordEncoder() {
+		private final PasswordEncoder bcrypt = new BCryptPasswordEncoder(4);
+
+		@Override
+		public String encode(CharSequence raw) {
+			started.countDown();
+			try {
+				release.await(10, TimeUnit.SECONDS);
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			return bcrypt.encode(raw);
+		}
+
+		@Override
+		public boolean matches(CharSequence raw, String encoded) {
+			return bcrypt.matches(raw, encoded);
+		}
+	};
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final PasswordHasher hasher = new PasswordHasher(blocking, registry, 1, 1);
+
+	@AfterEach
+	void shutdown() {
+		release.countDown();
+		hasher.shutdown();
+	}
+
+	@Test
+	void fullQueueIsRefusedInsteadOfWaiting() throws Exception {
+		CompletableFuture<String> running = hasher.encode("a");
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+		CompletableFuture<String> queued = hasher.encode("b");
+
+		// One running, one queued: the third call is turned away at once
+		assertThatThrownBy(() -> hasher.encode("c"))
+				.isInstanceOf(ServiceBusyException.class)
+				.extracting(ex -> ((ServiceBusyException) ex).getRetryAfterSeconds())
+				.isEqualTo(1L);
+		assertThatThrownBy(() -> hasher.matches("c", "x")).isInstanceOf(ServiceBusyException.class);
+		assertThat(registry.get("auth.bcrypt.rejected").counter().count()).isEqualTo(2.0);
+
+		release.countDown();
+		assertThat(blocking.matches("a", running.get(5, TimeUnit.SECONDS))).isTrue();
+		assertThat(blocking.matches("b", queued.get(5, TimeUnit.SECONDS))).isTrue();
+
+		// Capacity is back once the queue drains
+		assertThat(hasher.encode("d").get(5, TimeUnit.SECONDS)).isNotBlank();
+	}
+
+	@Test
+	void lowerCostHashNeedsRehash() {
+		release.countDown();
+		PasswordHasher stronger = new PasswordHasher(new BCryptPasswordEncoder(6), registry, 1, 1);
+		try {
+			assertThat(stronger.needsRehash(new BCryptPasswordEncoder(4).encode("pw"))).isTrue();
+			assertThat(stronger.needsRehash(new BCryptPasswordEncoder(6).encode("pw"))).isFalse();
+		} finally {
+			stronger.shutdown();
+		}
+	}
+}
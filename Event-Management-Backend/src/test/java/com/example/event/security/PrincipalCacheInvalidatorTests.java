@@ -0,0 +1,65 @@
+package com.example.event.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.event.entity.Role;
+import com.example.event.entity.User;
+import com.example.event.repository.UserRepository;
+
+@ActiveProfiles("local")
+@SpringBootTest
+class PrincipalCacheInvalidatorTests {
+
+	@Autowired
+	private PrincipalCache cache;
+
+	@Autowired
+	private UserRepository userRepo;
+
+	@Autowired
+	private TransactionTemplate tx;
+
+	@Test
+	void cachedPrincipalIsDroppedOnlyOnceTheChangeCommits() {
+		User u = new User();
+		u.setName("Before");
+		u.setEmail("renamed@example.com");
+		u.setPassword("x");
+		u.setRole(Role.STUDENT);
+		Long id = userRepo.save(u).getId();
+
+		AtomicInteger loads = new AtomicInteger();
+		cache.get("renamed@example.com", () -> {
+			loads.incrementAndGet();
+			return userRepo.findByEmail("renamed@example.com").orElse(null);
+		});
+
+		tx.executeWithoutResult(status -> {
+			User managed = userRepo.findById(id).orElseThrow();
+			managed.setName("After");
+			userRepo.saveAndFlush(managed);
+
+			// Flushed but not committed: a reload here would read the old row, so nothing is dropped yet
+			String name = cache.get("renamed@example.com", () -> {
+				loads.incrementAndGet();
+				return null;
+			}).getName();
+			assertThat(name).isEqualTo("Before");
+		});
+
+		String name = cache.get("renamed@example.com", () -> {
+			loads.incrementAndGet();
+			return userRepo.findByEmail("renamed@example.com").orElse(null);
+		}).getName();
+		assertThat(name).isEqualTo("After");
+		assertThat(loads).hasValue(2);
+	}
+}
@@ -0,0 +1,91 @@
+package com.example.event.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.event.entity.User;
+
+class PrincipalCacheTests {
+
+	private final PrincipalCache cache = new PrincipalCache(100, 60000);
+	private final AtomicInteger loads = new AtomicInteger();
+
+	private static User user(long id, String email) {
+		User u = new User();
+		u.setId(id);
+		u.setEmail(email);
+		return u;
+	}
+
+	private Supplier<User> loader(User u) {
+		return () -> {
+			loads.incrementAndGet();
+			return u;
+		};
+	}
+
+	@Test
+	void loadOverlappingAnInvalidationIsNotCached() {
+		User stale = user(1, "a@example.com");
+
+		// The row changes and is invalidated while this load still holds the old copy
+		User got = cache.get("a@example.com", () -> {
+			loads.incrementAndGet();
+			cache.invalidate(stale);
+			return stale;
+		});
+		assertThat(got).isSameAs(stale);
+
+		cache.get("a@example.com", loader(stale));
+		assertThat(loads).hasValue(2);
+	}
+
+	@Test
+	void loadStartedAfterTheInvalidationIsCached() {
+		User u = user(1, "a@example.com");
+		cache.invalidate(u);
+
+		cache.get("a@example.com", loader(u));
+		cache.get("a@example.com", loader(u));
+		assertThat(loads).hasValue(1);
+	}
+
+	@Test
+	void idStampCoversALoadUnderAnotherSubject() {
+		User u = user(7, "old@example.com");
+
+		// Only the id is known to the invalidation, as for a change made on another node
+		cache.get("old@example.com", () -> {
+			loads.incrementAndGet();
+			cache.invalidateId(7L);
+			return u;
+		});
+		cache.get("old@example.com", loader(u));
+		assertThat(loads).hasValue(2);
+	}
+
+	@Test
+	void invalidateIdDropsEntriesUnderAnyEmail() {
+		cache.get("old@example.com", loader(user(7, "old@example.com")));
+		cache.invalidateId(7L);
+
+		cache.get("old@example.com", loader(user(7, "old@example.com")));
+		assertThat(loads).hasValue(2);
+	}
+
+	@Test
+	void clearDuringALoadWins() {
+		User u = user(1, "a@example.com");
+		cache.get("a@example.com", () -> {
+			loads.incrementAndGet();
+			cache.clear();
+			return u;
+		});
+		cache.get("a@example.com", loader(u));
+		assertThat(loads).hasValue(2);
+	}
+}
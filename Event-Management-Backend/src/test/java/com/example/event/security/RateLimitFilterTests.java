@@ -0,0 +1,84 @@
+package com.example.event.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.example.event.entity.Role;
+import com.example.event.entity.User;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RateLimitFilterTests {
+
+	// Slow refill: within a test only the burst counts
+	private static final double RATE = 0.001;
+
+	@AfterEach
+	void clearPrincipal() {
+		SecurityContextHolder.clearContext();
+	}
+
+	private RateLimitFilter filter(int userBurst, int eventBurst, int pollBurst) {
+		return new RateLimitFilter(true, RATE, userBurst, RATE, eventBurst, RATE, pollBurst, 60000, new SimpleMeterRegistry());
+	}
+
+	private void signIn(long id) {
+		User u = new User();
+		u.setId(id);
+		u.setRole(Role.STUDENT);
+		SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(u, null, List.of()));
+	}
+
+	private int call(RateLimitFilter filter, String method, String uri) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, new MockFilterChain());
+		return response.getStatus();
+	}
+
+	@Test
+	void eventRejectionGivesTheUserTokenBack() throws Exception {
+		RateLimitFilter filter = filter(2, 1, 10);
+		signIn(1L);
+
+		assertThat(call(filter, "POST", "/api/registrations/7")).isEqualTo(200);
+		assertThat(call(filter, "POST", "/api/registrations/7")).isEqualTo(429);
+
+		// The event's bucket refused the second call, so the user still has a token left
+		assertThat(call(filter, "GET", "/api/events/available")).isEqualTo(200);
+		assertThat(call(filter, "GET", "/api/events/available")).isEqualTo(429);
+	}
+
+	@Test
+	void waitingDoesNotUseTheUserBudget() throws Exception {
+		RateLimitFilter filter = filter(1, 10, 20);
+		signIn(2L);
+
+		for (int i = 0; i < 5; i++) {
+			assertThat(call(filter, "GET", "/api/registrations/tickets/abc")).isEqualTo(200);
+			assertThat(call(filter, "GET", "/api/events/seats/token")).isEqualTo(200);
+		}
+		assertThat(call(filter, "GET", "/api/events/seats/stream")).isEqualTo(200);
+		assertThat(call(filter, "GET", "/api/events/available")).isEqualTo(200);
+	}
+
+	@Test
+	void waitingHasItsOwnLimit() throws Exception {
+		RateLimitFilter filter = filter(20, 10, 2);
+		signIn(3L);
+
+		assertThat(call(filter, "GET", "/api/events/seats/stream")).isEqualTo(200);
+		assertThat(call(filter, "GET", "/api/registrations/tickets/abc")).isEqualTo(200);
+		assertThat(call(filter, "GET", "/api/events/seats/stream")).isEqualTo(429);
+		assertThat(call(filter, "GET", "/api/events/available")).isEqualTo(200);
+	}
+}
@@ -0,0 +1,83 @@
+package com.example.event.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.event.entity.Role;
+import com.example.event.entity.User;
+import com.example.event.repository.UserRepository;
+
+import tools.jackson.databind.ObjectMapper;
+
+@ActiveProfiles("local")
+@SpringBootTest
+@AutoConfigureMockMvc
+class SeatStreamTokenTests {
+
+	private static final String STREAM = "/api/events/seats/stream";
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@Autowired
+	private UserRepository userRepo;
+
+	@Autowired
+	private ObjectMapper mapper;
+
+	@Test
+	void sessionTokenIsRefusedInTheQueryString() throws Exception {
+		String session = jwtUtil.generateToken(student("query-session@example.com"), Role.STUDENT.name());
+
+		mvc.perform(get(STREAM).param("access_token", session))
+				.andExpect(status().isForbidden());
+	}
+
+	@Test
+	void streamTokenOpensTheStream() throws Exception {
+		String session = jwtUtil.generateToken(student("stream-owner@example.com"), Role.STUDENT.name());
+
+		String body = mvc.perform(get("/api/events/seats/token").header(HttpHeaders.AUTHORIZATION, "Bearer " + session))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		String streamToken = mapper.readTree(body).get("data").asString();
+		assertThat(jwtUtil.extractClaims(streamToken).get(JwtUtil.SCOPE_CLAIM, String.class))
+				.isEqualTo(JwtUtil.STREAM_SCOPE);
+
+		mvc.perform(get(STREAM).param("access_token", streamToken))
+				.andExpect(request().asyncStarted());
+	}
+
+	@Test
+	void streamTokenIsGoodForNothingElse() throws Exception {
+		String streamToken = jwtUtil.generateStreamToken(student("stream-only@example.com"), Role.STUDENT.name());
+
+		mvc.perform(get("/api/events/available").header(HttpHeaders.AUTHORIZATION, "Bearer " + streamToken))
+				.andExpect(status().isForbidden());
+		mvc.perform(get("/api/events/available").param("access_token", streamToken))
+				.andExpect(status().isForbidden());
+	}
+
+	private String student(String email) {
+		User u = new User();
+		u.setName("Stream");
+		u.setEmail(email);
+		u.setPassword("x");
+		u.setRole(Role.STUDENT);
+		userRepo.save(u);
+		return email;
+	}
+}
@@ -0,0 +1,127 @@
+package com.example.event.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mockingDetails;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.event.dto.AuthRequest;
+import com.example.event.dto.RegisterRequest;
+import com.example.event.entity.Role;
+import com.example.event.entity.User;
+import com.example.event.exception.ServiceBusyException;
+import com.example.event.repository.UserRepository;
+import com.example.event.security.PasswordHasher;
+
+// Cost 6 here, so hashes written at the local profile's cost 4 are due an upgrade
+@ActiveProfiles("local")
+@SpringBootTest(properties = "auth.bcrypt.strength=6")
+@AutoConfigureMockMvc
+class AuthServiceTests {
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private AuthService authService;
+
+	@MockitoSpyBean
+	private UserRepository userRepo;
+
+	@MockitoSpyBean
+	private PasswordHasher hasher;
+
+	private final List<String> saveThreads = new CopyOnWriteArrayList<>();
+
+	@BeforeEach
+	void recordSaveThreads() {
+		Answer<?> real = mockingDetails(userRepo).getMockCreationSettings().getDefaultAnswer();
+		doAnswer(inv -> {
+			saveThreads.add(Thread.currentThread().getName());
+			return real.answer(inv);
+		}).when(userRepo).save(any(User.class));
+	}
+
+	@Test
+	void registerSavesOffTheHashingPool() throws Exception {
+		RegisterRequest r = new RegisterRequest();
+		r.setName("Fresh");
+		r.setEmail("fresh@example.com");
+		r.setPassword("secret");
+		r.setRole(Role.STUDENT);
+
+		authService.register(r).get(5, TimeUnit.SECONDS);
+
+		assertThat(userRepo.findByEmail("fresh@example.com")).isPresent();
+		assertThat(saveThreads).hasSize(1).noneMatch(name -> name.startsWith("bcrypt-"));
+	}
+
+	@Test
+	void loginUpgradesALowerCostHash() throws Exception {
+		User u = new User();
+		u.setName("Legacy");
+		u.setEmail("legacy@example.com");
+		u.setPassword(new BCryptPasswordEncoder(4).encode("secret"));
+		u.setRole(Role.STUDENT);
+		userRepo.save(u);
+		saveThreads.clear();
+
+		AuthRequest r = new AuthRequest();
+		r.setEmail("legacy@example.com");
+		r.setPassword("secret");
+		Map<String, String> body = authService.login(r).get(5, TimeUnit.SECONDS);
+		assertThat(body).containsKey("token");
+
+		// The rehash is saved after the response, off the BCrypt threads
+		await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+				assertThat(userRepo.findByEmail("legacy@example.com").orElseThrow().getPassword()).startsWith("$2a$06$"));
+		assertThat(saveThreads).hasSize(1).noneMatch(name -> name.startsWith("bcrypt-"));
+
+		// The upgraded hash still verifies the same password
+		assertThat(authService.login(r).get(5, TimeUnit.SECONDS)).containsKey("token");
+	}
+
+	@Test
+	void saturatedPoolAnswers503WithRetryAfter() throws Exception {
+		User u = new User();
+		u.setName("Busy");
+		u.setEmail("busy@example.com");
+		u.setPassword(new BCryptPasswordEncoder(6).encode("secret"));
+		u.setRole(Role.STUDENT);
+		userRepo.save(u);
+
+		doThrow(new ServiceBusyException("Server busy, please retry", 1))
+				.when(hasher).matches(anyString(), anyString());
+
+		mvc.perform(post("/api/auth/login")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"email\":\"busy@example.com\",\"password\":\"secret\"}"))
+				.andExpect(status().isServiceUnavailable())
+				.andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+	}
+}
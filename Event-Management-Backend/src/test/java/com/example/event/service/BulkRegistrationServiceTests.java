@@ -0,0 +1,119 @@
+package com.example.event.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.event.dto.BulkRegistrationResult;
+import com.example.event.dto.BulkRegistrationResult.Outcome;
+import com.example.event.entity.Event;
+import com.example.event.entity.Role;
+import com.example.event.entity.User;
+import com.example.event.entity.WaitlistEntry;
+import com.example.event.repository.RegistrationRepository;
+import com.example.event.repository.UserRepository;
+import com.example.event.repository.WaitlistRepository;
+
+// Chunks of three, so small lists already span several transactions
+@ActiveProfiles("local")
+@SpringBootTest(properties = "app.bulk.chunk-size=3")
+class BulkRegistrationServiceTests {
+
+	@Autowired
+	private BulkRegistrationService bulkService;
+
+	@Autowired
+	private EventService eventService;
+
+	@Autowired
+	private RegistrationRepository regRepo;
+
+	@Autowired
+	private UserRepository userRepo;
+
+	@Autowired
+	private WaitlistRepository waitRepo;
+
+	@Test
+	void rowsAcrossChunksKeepTheirOrderAndOutcomes() {
+		Event e = eventService.create(event(5));
+		for (String s : List.of("s1", "s2", "s3", "s4", "s5", "s6")) userRepo.save(user(s + "@bulk.example.com", Role.STUDENT));
+		userRepo.save(user("admin@bulk.example.com", Role.ADMIN));
+
+		BulkRegistrationResult result = bulkService.importEmails(e.getId(), List.of(
+				"s1@bulk.example.com", "s2@bulk.example.com", "nobody@bulk.example.com",
+				"s1@bulk.example.com", "admin@bulk.example.com", "s3@bulk.example.com",
+				"s4@bulk.example.com", "s5@bulk.example.com", "s6@bulk.example.com"));
+
+		assertThat(result.getRows()).extracting(BulkRegistrationResult.Row::getOutcome).containsExactly(
+				Outcome.REGISTERED, Outcome.REGISTERED, Outcome.UNKNOWN_USER,
+				Outcome.DUPLICATE, Outcome.NOT_A_STUDENT, Outcome.REGISTERED,
+				Outcome.REGISTERED, Outcome.REGISTERED, Outcome.EVENT_FULL);
+		assertThat(result.getRegistered()).isEqualTo(5);
+		assertThat(regRepo.countByEventId(e.getId())).isEqualTo(5);
+	}
+
+	@Test
+	void csvImportSkipsHeaderAndReportsEarlierRegistrations() throws Exception {
+		Event e = eventService.create(event(10));
+		for (int i = 0; i < 7; i++) userRepo.save(user("csv" + i + "@bulk.example.com", Role.STUDENT));
+		bulkService.importEmails(e.getId(), List.of("csv0@bulk.example.com", "csv5@bulk.example.com"));
+
+		StringBuilder csv = new StringBuilder("email,name\n");
+		for (int i = 0; i < 7; i++) csv.append("csv").append(i).append("@bulk.example.com,Student ").append(i).append('\n');
+		BulkRegistrationResult result = bulkService.importCsv(e.getId(), new BufferedReader(new StringReader(csv.toString())));
+
+		assertThat(result.getRows()).extracting(BulkRegistrationResult.Row::getOutcome).containsExactly(
+				Outcome.ALREADY_REGISTERED, Outcome.REGISTERED, Outcome.REGISTERED, Outcome.REGISTERED,
+				Outcome.REGISTERED, Outcome.ALREADY_REGISTERED, Outcome.REGISTERED);
+		assertThat(regRepo.countByEventId(e.getId())).isEqualTo(7);
+	}
+
+	@Test
+	void importedStudentsLeaveTheWaitlist() {
+		Event e = eventService.create(event(2));
+		User waiting = userRepo.save(user("waiting@bulk.example.com", Role.STUDENT));
+		User stillWaiting = userRepo.save(user("still-waiting@bulk.example.com", Role.STUDENT));
+		waitRepo.save(entry(waiting, e));
+		waitRepo.save(entry(stillWaiting, e));
+
+		bulkService.importEmails(e.getId(), List.of("waiting@bulk.example.com"));
+
+		assertThat(waitRepo.findByUserAndEvent(waiting, e)).isEmpty();
+		assertThat(waitRepo.findByUserAndEvent(stillWaiting, e)).isPresent();
+	}
+
+	private static WaitlistEntry entry(User u, Event e) {
+		WaitlistEntry w = new WaitlistEntry();
+		w.setUser(u);
+		w.setEvent(e);
+		w.setJoinedAt(LocalDateTime.now());
+		return w;
+	}
+
+	private static Event event(int capacity) {
+		Event e = new Event();
+		e.setTitle("Bulk " + capacity);
+		e.setVenue("Main hall");
+		e.setMaxCapacity(capacity);
+		e.setDateTime(LocalDateTime.now().plusDays(1));
+		return e;
+	}
+
+	private static User user(String email, Role role) {
+		User u = new User();
+		u.setName("Student");
+		u.setEmail(email);
+		u.setPassword("x");
+		u.setRole(role);
+		return u;
+	}
+}
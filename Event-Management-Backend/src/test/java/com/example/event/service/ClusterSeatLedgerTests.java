@@ -0,0 +1,283 @@
+package com.example.event.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.event.EventManagementBackendApplication;
+import com.example.event.dto.EventSeats;
+import com.example.event.entity.Event;
+import com.example.event.entity.Role;
+import com.example.event.entity.User;
+import com.example.event.exception.BadRequestException;
+import com.example.event.exception.ServiceBusyException;
+import com.example.event.repository.RegistrationRepository;
+import com.example.event.repository.UserRepository;
+import com.example.event.security.PrincipalCache;
+
+/**
+ * Two backend nodes in one JVM, sharing one in-memory database, each in
+ * clustered seat mode. Small lease blocks make the nodes go back to the
+ * allocator many times per event.
+ */
+class ClusterSeatLedgerTests {
+
+	static final String SHARED_DB = "jdbc:h2:mem:cluster;MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+
+	private static ConfigurableApplicationContext nodeA;
+	private static ConfigurableApplicationContext nodeB;
+
+	@BeforeAll
+	static void startNodes() {
+		nodeA = node("node-a", "create-drop");
+		nodeB = node("node-b", "none");
+	}
+
+	@AfterAll
+	static void stopNodes() {
+		nodeB.close();
+		nodeA.close();
+	}
+
+	// Command-line arguments, so they win over application-local.properties;
+	// a short connection timeout makes pool exhaustion fail fast instead of stalling
+	private static ConfigurableApplicationContext node(String nodeId, String ddl) {
+		return new SpringApplicationBuilder(EventManagementBackendApplication.class)
+				.profiles("local")
+				.run("--server.port=0",
+						"--spring.datasource.url=" + SHARED_DB,
+						"--spring.jpa.hibernate.ddl-auto=" + ddl,
+						"--app.seats.mode=cluster",
+						"--app.seats.node-id=" + nodeId,
+						"--app.seats.lease.block-size=7",
+						"--app.cluster.changes.poll-interval=100",
+						"--spring.datasource.hikari.connection-timeout=2000");
+	}
+
+	@Test
+	void nodesRegisteringConcurrentlyNeverExceedCapacity() throws Exception {
+		Event e = createEvent(40);
+		List<User> students = students("rush", 200);
+
+		AtomicInteger onA = new AtomicInteger();
+		AtomicInteger onB = new AtomicInteger();
+		ExecutorService pool = Executors.newFixedThreadPool(16);
+		CountDownLatch start = new CountDownLatch(1);
+
+		for (int i = 0; i < students.size(); i++) {
+			User u = students.get(i);
+			boolean a = i % 2 == 0;
+			pool.execute(() -> {
+				try {
+					start.await();
+					register(a ? nodeA : nodeB, u, e);
+					(a ? onA : onB).incrementAndGet();
+				} catch (BadRequestException full) {
+					// expected once the event is sold out
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			});
+		}
+		start.countDown();
+		pool.shutdown();
+		assertThat(pool.awaitTermination(60, TimeUnit.SECONDS)).isTrue();
+
+		assertThat(onA.get() + onB.get()).isEqualTo(40);
+		assertThat(onA.get()).isPositive();
+		assertThat(onB.get()).isPositive();
+		assertThat(registered(e)).isEqualTo(40);
+	}
+
+	@Test
+	void rushWiderThanTheConnectionPoolNeverNeedsASecondConnection() throws Exception {
+		Event e = createEvent(60);
+		List<User> students = students("wide", 150);
+
+		// Far more concurrent registrations than the local profile's 20 pooled connections
+		AtomicInteger registered = new AtomicInteger();
+		Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+		ExecutorService pool = Executors.newFixedThreadPool(64);
+		CountDownLatch start = new CountDownLatch(1);
+
+		for (User u : students) {
+			pool.execute(() -> {
+				try {
+					start.await();
+					register(nodeA, u, e);
+					registered.incrementAndGet();
+				} catch (BadRequestException full) {
+					// expected once the event is sold out
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				} catch (RuntimeException ex) {
+					failures.add(ex);
+				}
+			});
+		}
+		start.countDown();
+		pool.shutdown();
+		assertThat(pool.awaitTermination(60, TimeUnit.SECONDS)).isTrue();
+
+		assertThat(failures).isEmpty();
+		assertThat(registered.get()).isEqualTo(60);
+		assertThat(registered(e)).isEqualTo(60);
+	}
+
+	@Test
+	void leasedSeatsAreReturnedOnShutdown() {
+		Event e = createEvent(10);
+		List<User> students = students("shutdown", 10);
+
+		// A third node registers one student and holds the rest of its block
+		ConfigurableApplicationContext nodeC = node("node-c", "none");
+		register(nodeC, students.get(0), e);
+		registerAll(nodeB, students.subList(1, 10), e);
+		assertThat(registered(e)).isLessThan(10);
+
+		nodeC.close();
+		registerAll(nodeB, students.subList(1, 10), e);
+		assertThat(registered(e)).isEqualTo(10);
+	}
+
+	@Test
+	void expiredLeaseOfACrashedNodeIsReclaimed() {
+		Event e = createEvent(10);
+		List<User> students = students("crash", 10);
+
+		register(nodeA, students.get(0), e);
+		registerAll(nodeB, students.subList(1, 10), e);
+		assertThat(registered(e)).isLessThan(10);
+
+		// Node A stops heartbeating: its lease runs out
+		new JdbcTemplate(nodeB.getBean(DataSource.class)).update(
+				"update seat_lease set expires_at = ? where event_id = ? and node_id = 'node-a'",
+				LocalDateTime.now().minusMinutes(1), e.getId());
+
+		registerAll(nodeB, students.subList(1, 10), e);
+		assertThat(registered(e)).isEqualTo(10);
+	}
+
+	@Test
+	void catalogChangesOnOneNodeReachTheOther() {
+		String etagBefore = nodeB.getBean(CatalogVersion.class).etag();
+		EventSearchIndex searchB = nodeB.getBean(EventSearchIndex.class);
+		SeatLedger ledgerB = nodeB.getBean(SeatLedger.class);
+
+		Event e = new Event();
+		e.setTitle("Crossnode keynote");
+		e.setVenue("Main hall");
+		e.setMaxCapacity(5);
+		e.setDateTime(LocalDateTime.now().plusDays(1));
+		Event created = nodeA.getBean(EventService.class).create(e);
+
+		// Node B never saw the request, yet indexes the event and serves a new ETag
+		await().atMost(Duration.ofSeconds(5)).until(() -> searchB.search("crossnode", null, null, null, 0, 10)
+				.getItems().stream().map(EventSeats::getId).toList().contains(created.getId()));
+		assertThat(nodeB.getBean(CatalogVersion.class).etag()).isNotEqualTo(etagBefore);
+		assertThat(ledgerB.peekRemaining(created.getId())).isEqualTo(OptionalInt.of(5));
+
+		// A sale on node A lowers node B's estimate, though node B sells nothing of this event
+		register(nodeA, students("crossnode", 1).get(0), created);
+		await().atMost(Duration.ofSeconds(5)).until(() -> ledgerB.peekRemaining(created.getId()).getAsInt() < 5);
+
+		nodeA.getBean(EventService.class).delete(created.getId());
+		await().atMost(Duration.ofSeconds(5)).until(() -> ledgerB.peekRemaining(created.getId()).isEmpty());
+		assertThat(searchB.search("crossnode", null, null, null, 0, 10).getItems()).isEmpty();
+	}
+
+	@Test
+	void userChangedOnOneNodeLeavesTheOthersPrincipalCache() {
+		User u = students("principal", 1).get(0);
+		PrincipalCache cacheB = nodeB.getBean(PrincipalCache.class);
+		UserRepository usersB = nodeB.getBean(UserRepository.class);
+
+		AtomicInteger loads = new AtomicInteger();
+		Supplier<User> loader = () -> {
+			loads.incrementAndGet();
+			return usersB.findByEmail(u.getEmail()).orElse(null);
+		};
+		cacheB.get(u.getEmail(), loader);
+
+		u.setName("Renamed on A");
+		nodeA.getBean(UserRepository.class).save(u);
+
+		await().atMost(Duration.ofSeconds(5)).until(() -> "Renamed on A".equals(cacheB.get(u.getEmail(), loader).getName()));
+		assertThat(loads.get()).isGreaterThan(1);
+	}
+
+	// Already registered students are skipped like sold-out attempts
+	private static void registerAll(ConfigurableApplicationContext node, List<User> students, Event e) {
+		for (User u : students) {
+			try {
+				register(node, u, e);
+			} catch (BadRequestException skipped) {
+				// full, or registered in an earlier pass
+			}
+		}
+	}
+
+	// As the controller does it: seats are leased before the registration transaction;
+	// a 503 is retried like a client honouring Retry-After
+	private static void register(ConfigurableApplicationContext node, User u, Event e) {
+		RegistrationService regs = node.getBean(RegistrationService.class);
+		while (true) {
+			try {
+				regs.prepareSeat(e);
+				regs.register(u, e);
+				return;
+			} catch (ServiceBusyException busy) {
+				Thread.onSpinWait();
+			}
+		}
+	}
+
+	private static long registered(Event e) {
+		return nodeA.getBean(RegistrationRepository.class).countByEventId(e.getId());
+	}
+
+	private static Event createEvent(int capacity) {
+		Event e = new Event();
+		e.setTitle("Cluster " + capacity);
+		e.setVenue("Main hall");
+		e.setMaxCapacity(capacity);
+		e.setDateTime(LocalDateTime.now().plusDays(1));
+		return nodeA.getBean(EventService.class).create(e);
+	}
+
+	private static List<User> students(String prefix, int n) {
+		UserRepository users = nodeA.getBean(UserRepository.class);
+		List<User> out = new ArrayList<>(n);
+		for (int i = 0; i < n; i++) {
+			User u = new User();
+			u.setName("Student " + i);
+			u.setEmail(prefix + i + "@example.com");
+			u.setPassword("x");
+			u.setRole(Role.STUDENT);
+			out.add(users.save(u));
+		}
+		return out;
+	}
+}
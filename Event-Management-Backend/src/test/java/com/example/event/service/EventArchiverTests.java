@@ -0,0 +1,163 @@
+package com.example.event.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import com.example.event.dto.EventSeats;
+import com.example.event.dto.RegistrationView;
+import com.example.event.entity.Event;
+import com.example.event.entity.Role;
+import com.example.event.entity.User;
+import com.example.event.repository.ArchivedRegistrationRepository;
+import com.example.event.repository.EventRepository;
+import com.example.event.repository.UserRepository;
+
+@ActiveProfiles("local")
+@SpringBootTest
+class EventArchiverTests {
+
+	@Autowired
+	private EventArchiver archiver;
+
+	@Autowired
+	private EventService eventService;
+
+	@Autowired
+	private RegistrationService regService;
+
+	@Autowired
+	private EventRepository eventRepo;
+
+	@Autowired
+	private UserRepository userRepo;
+
+	@MockitoSpyBean
+	private ArchivedRegistrationRepository archivedRegs;
+
+	@Test
+	void finishedEventsMoveToTheArchiveWithTheirRegistrations() {
+		User student = userRepo.save(student("archive@example.com"));
+		Event past = eventService.create(event("Last week", LocalDateTime.now().minusDays(7)));
+		Event upcoming = eventService.create(event("Next week", LocalDateTime.now().plusDays(7)));
+		regService.register(student, past);
+		regService.register(student, upcoming);
+
+		assertThat(archiver.archivePast()).isPositive();
+
+		assertThat(eventRepo.findById(past.getId())).isEmpty();
+		assertThat(eventRepo.findById(upcoming.getId())).isPresent();
+
+		assertThat(regService.my(student))
+				.extracting(RegistrationView::getEventId)
+				.containsExactly(upcoming.getId());
+		assertThat(regService.history(student, null, 50))
+				.extracting(RegistrationView::getEventId)
+				.containsExactly(past.getId());
+
+		assertThat(eventService.history(null, 50))
+				.filteredOn(e -> e.getId().equals(past.getId()))
+				.extracting(EventSeats::getRemainingSeats)
+				.containsExactly(9L);
+	}
+
+	@Test
+	void upcomingEventsStayInTheHotTier() {
+		Event upcoming = eventService.create(event("Tomorrow", LocalDateTime.now().plusDays(1)));
+
+		archiver.archivePast();
+
+		assertThat(eventRepo.findById(upcoming.getId())).isPresent();
+		assertThat(eventService.history(null, EventService.MAX_PAGE_SIZE))
+				.extracting(EventSeats::getId)
+				.doesNotContain(upcoming.getId());
+	}
+
+	@Test
+	void registrationCommittedDuringTheArchiveIsNeverLost() throws Exception {
+		User early = userRepo.save(student("early@example.com"));
+		User late = userRepo.save(student("late@example.com"));
+		Event past = eventService.create(event("Two days ago", LocalDateTime.now().minusDays(2)));
+		regService.register(early, past);
+
+		// Between copying and deleting, a second registration for the event commits (or waits for it)
+		ExecutorService other = Executors.newSingleThreadExecutor();
+		AtomicReference<Future<?>> lateRegistration = new AtomicReference<>();
+		// A spied repository is an interface mock whose default answer delegates to the real one
+		Answer<?> real = mockingDetails(archivedRegs).getMockCreationSettings().getDefaultAnswer();
+		doAnswer(inv -> {
+			Object copied = real.answer(inv);
+			if (lateRegistration.get() == null) {
+				lateRegistration.set(other.submit(() -> regService.register(late, past)));
+				try {
+					lateRegistration.get().get(2, TimeUnit.SECONDS);
+				} catch (TimeoutException | ExecutionException blockedOrRejected) {
+					// waiting on the event row, or refused outright
+				}
+			}
+			return copied;
+		}).when(archivedRegs).copyFromLive(eq(past.getId()));
+
+		try {
+			archiver.archivePast();
+		} catch (RuntimeException rolledBack) {
+			// the late row kept the event referenced; the next pass moves both
+		}
+		boolean lateCommitted;
+		try {
+			lateRegistration.get().get(30, TimeUnit.SECONDS);
+			lateCommitted = true;
+		} catch (ExecutionException refused) {
+			lateCommitted = false;
+		} finally {
+			other.shutdown();
+		}
+		archiver.archivePast();
+
+		assertThat(eventRepo.findById(past.getId())).isEmpty();
+		assertThat(regService.history(early, null, 50))
+				.extracting(RegistrationView::getEventId)
+				.containsExactly(past.getId());
+		if (lateCommitted) {
+			assertThat(regService.history(late, null, 50))
+					.extracting(RegistrationView::getEventId)
+					.containsExactly(past.getId());
+		}
+		assertThat(regService.my(late)).isEmpty();
+	}
+
+	private static Event event(String title, LocalDateTime at) {
+		Event e = new Event();
+		e.setTitle(title);
+		e.setVenue("Main hall");
+		e.setMaxCapacity(10);
+		e.setDateTime(at);
+		return e;
+	}
+
+	private static User student(String email) {
+		User u = new User();
+		u.setName("Student");
+		u.setEmail(email);
+		u.setPassword("x");
+		u.setRole(Role.STUDENT);
+		return u;
+	}
+}
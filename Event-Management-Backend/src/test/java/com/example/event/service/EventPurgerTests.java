@@ -0,0 +1,202 @@
+package com.example.event.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.event.dto.EventSeats;
+import com.example.event.entity.Event;
+import com.example.event.entity.Role;
+import com.example.event.entity.User;
+import com.example.event.entity.WaitlistEntry;
+import com.example.event.repository.EventRepository;
+import com.example.event.repository.RegistrationRepository;
+import com.example.event.repository.UserRepository;
+import com.example.event.repository.WaitlistRepository;
+import com.example.event.security.JwtUtil;
+
+// Chunks of three and no pause, so a handful of rows already takes several passes
+@ActiveProfiles("local")
+@SpringBootTest(properties = {
+		"app.events.purge.chunk-size=3",
+		"app.events.purge.pause=0",
+		"app.events.purge.retry=100"
+})
+@AutoConfigureMockMvc
+class EventPurgerTests {
+
+	private static final Duration PURGED_WITHIN = Duration.ofSeconds(10);
+
+	@Autowired
+	private EventPurger purger;
+
+	@Autowired
+	private EventService eventService;
+
+	@Autowired
+	private RegistrationService regService;
+
+	@Autowired
+	private EventRepository eventRepo;
+
+	@Autowired
+	private UserRepository userRepo;
+
+	@Autowired
+	private JdbcTemplate jdbc;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@Autowired
+	private MockMvc mvc;
+
+	@MockitoSpyBean
+	private RegistrationRepository regRepo;
+
+	@MockitoSpyBean
+	private WaitlistRepository waitRepo;
+
+	@Test
+	void deletedEventIsGoneForReadersBeforeThePurgeRuns() throws Exception {
+		Event e = eventService.create(event("Cancelled meetup", 10));
+		regService.register(userRepo.save(student("gone-1@example.com")), e);
+		User late = userRepo.save(student("gone-2@example.com"));
+
+		// Hold the purge at its first chunk: only the soft delete has happened
+		CountDownLatch release = new CountDownLatch(1);
+		Answer<?> real = mockingDetails(regRepo).getMockCreationSettings().getDefaultAnswer();
+		doAnswer(inv -> {
+			release.await(30, TimeUnit.SECONDS);
+			return real.answer(inv);
+		}).when(regRepo).deleteChunkByEvent(eq(e.getId()), anyInt());
+
+		try {
+			eventService.delete(e.getId());
+
+			assertThat(rowsOf("event", "id", e.getId())).isOne();
+			assertThat(eventRepo.findById(e.getId())).isEmpty();
+			assertThat(eventService.allWithSeats(null, EventService.MAX_PAGE_SIZE).getItems())
+					.extracting(EventSeats::getId)
+					.doesNotContain(e.getId());
+			assertThat(eventService.search("cancelled", null, null, null, 0, 20).getItems()).isEmpty();
+			mvc.perform(post("/api/registrations/" + e.getId())
+							.header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtUtil.generateToken(late.getEmail(), Role.STUDENT.name())))
+					.andExpect(status().isNotFound());
+		} finally {
+			release.countDown();
+		}
+		awaitPurged(e);
+	}
+
+	@Test
+	void purgeRemovesEveryChunkThenTheEvent() {
+		Event e = eventService.create(event("Big hall", 8));
+		for (int i = 0; i < 8; i++) regService.register(userRepo.save(student("chunk-" + i + "@example.com")), e);
+		for (int i = 0; i < 5; i++) waitRepo.save(entry(userRepo.save(student("chunk-wait-" + i + "@example.com")), e));
+
+		eventService.delete(e.getId());
+		awaitPurged(e);
+
+		assertThat(rowsOf("registration", "event_id", e.getId())).isZero();
+		assertThat(rowsOf("waitlist_entry", "event_id", e.getId())).isZero();
+		// 8 registrations in chunks of 3, 5 waitlist rows in chunks of 3
+		verify(regRepo, atLeast(3)).deleteChunkByEvent(e.getId(), 3);
+		verify(waitRepo, atLeast(2)).deleteChunkByEvent(e.getId(), 3);
+	}
+
+	@Test
+	void failedPassIsRetried() {
+		Event e = eventService.create(event("Flaky purge", 10));
+		waitRepo.save(entry(userRepo.save(student("retry-wait@example.com")), e));
+
+		AtomicBoolean failed = new AtomicBoolean();
+		Answer<?> real = mockingDetails(waitRepo).getMockCreationSettings().getDefaultAnswer();
+		doAnswer(inv -> {
+			if (failed.compareAndSet(false, true)) throw new QueryTimeoutException("lock wait timeout");
+			return real.answer(inv);
+		}).when(waitRepo).deleteChunkByEvent(eq(e.getId()), anyInt());
+
+		eventService.delete(e.getId());
+		awaitPurged(e);
+
+		assertThat(failed).isTrue();
+		assertThat(rowsOf("waitlist_entry", "event_id", e.getId())).isZero();
+		verify(waitRepo, atLeast(2)).deleteChunkByEvent(e.getId(), 3);
+	}
+
+	@Test
+	void pendingDeletesArePickedUpOnStartup() {
+		Event e = eventService.create(event("Deleted before a restart", 10));
+		regService.register(userRepo.save(student("resume@example.com")), e);
+
+		// Soft-deleted, but the node went down before its purge ran
+		eventRepo.markDeleted(e.getId(), LocalDateTime.now());
+		assertThat(rowsOf("event", "id", e.getId())).isOne();
+
+		purger.resume();
+		awaitPurged(e);
+
+		assertThat(rowsOf("registration", "event_id", e.getId())).isZero();
+	}
+
+	private void awaitPurged(Event e) {
+		await().atMost(PURGED_WITHIN).until(() -> rowsOf("event", "id", e.getId()) == 0);
+	}
+
+	// Plain SQL: the entity's restriction hides soft-deleted rows
+	private long rowsOf(String table, String column, Long id) {
+		return jdbc.queryForObject("select count(*) from " + table + " where " + column + " = ?", Long.class, id);
+	}
+
+	private static WaitlistEntry entry(User u, Event e) {
+		WaitlistEntry w = new WaitlistEntry();
+		w.setUser(u);
+		w.setEvent(e);
+		w.setJoinedAt(LocalDateTime.now());
+		return w;
+	}
+
+	private static Event event(String title, int capacity) {
+		Event e = new Event();
+		e.setTitle(title);
+		e.setVenue("Main hall");
+		e.setMaxCapacity(capacity);
+		e.setDateTime(LocalDateTime.now().plusDays(3));
+		return e;
+	}
+
+	private static User student(String email) {
+		User u = new User();
+		u.setName("Student");
+		u.setEmail(email);
+		u.setPassword("x");
+		u.setRole(Role.STUDENT);
+		return u;
+	}
+}
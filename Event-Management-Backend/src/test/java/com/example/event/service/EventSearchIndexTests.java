@@ -0,0 +1,221 @@
+package com.example.event.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.event.dto.EventSeats;
+import com.example.event.dto.SearchPage;
+import com.example.event.entity.Event;
+import com.example.event.repository.EventRepository;
+import com.example.event.repository.RegistrationRepository;
+
+class EventSearchIndexTests {
+
+	private static final LocalDateTime MONDAY = LocalDateTime.of(2030, 3, 4, 10, 0);
+
+	private final EventRepository eventRepo = mock(EventRepository.class);
+
+	private final RegistrationRepository regRepo = mock(RegistrationRepository.class);
+
+	private final SeatLedger ledger = new SeatLedger(eventRepo, regRepo, 60000);
+
+	private final EventSearchIndex index = new EventSearchIndex(eventRepo, ledger);
+
+	private Event event(long id, String title, String category, String speaker, String description, LocalDateTime at) {
+		Event e = new Event();
+		e.setId(id);
+		e.setTitle(title);
+		e.setCategory(category);
+		e.setSpeaker(speaker);
+		e.setDescription(description);
+		e.setDateTime(at);
+		e.setVenue("Main hall");
+		e.setMaxCapacity(10);
+		ledger.track(e);
+		index.index(e);
+		return e;
+	}
+
+	private List<Long> ids(SearchPage<EventSeats> page) {
+		return page.getItems().stream().map(EventSeats::getId).toList();
+	}
+
+	private List<Long> search(String q) {
+		return ids(index.search(q, null, null, null, 0, 50));
+	}
+
+	@Test
+	void tokenizerLowercasesAndSplitsOnPunctuation() {
+		assertThat(EventSearchIndex.tokenize("Spring-Boot 4.0: Déjà vu!"))
+				.containsExactly("spring", "boot", "4", "0", "déjà", "vu");
+		assertThat(EventSearchIndex.tokenize("  ")).isEmpty();
+		assertThat(EventSearchIndex.tokenize(null)).isEmpty();
+	}
+
+	@Test
+	void queryTokensMatchAsPrefixesAndAllMustMatch() {
+		event(1L, "Kubernetes workshop", "Cloud", null, null, MONDAY);
+		event(2L, "Kotlin for beginners", "Programming", null, null, MONDAY);
+
+		assertThat(search("ku")).containsExactly(1L);
+		assertThat(search("k")).containsExactlyInAnyOrder(1L, 2L);
+		assertThat(search("KOT begin")).containsExactly(2L);
+		assertThat(search("kotlin cloud")).isEmpty();
+	}
+
+	@Test
+	void titleOutranksCategorySpeakerAndDescription() {
+		event(1L, "Intro", null, null, "All about java", MONDAY);
+		event(2L, "Intro", null, "Java Jones", null, MONDAY);
+		event(3L, "Intro", "Java", null, null, MONDAY);
+		event(4L, "Java intro", null, null, null, MONDAY);
+
+		assertThat(search("java")).containsExactly(4L, 3L, 2L, 1L);
+	}
+
+	@Test
+	void equalScoresAreOrderedByDateThenId() {
+		event(3L, "Chess club", null, null, null, MONDAY.plusDays(1));
+		event(2L, "Chess club", null, null, null, MONDAY);
+		event(1L, "Chess club", null, null, null, MONDAY.plusDays(1));
+
+		assertThat(search("chess")).containsExactly(2L, 1L, 3L);
+	}
+
+	@Test
+	void filtersByCategoryAndDateRange() {
+		event(1L, "Talk", "AI", null, null, MONDAY);
+		event(2L, "Talk", "ai ", null, null, MONDAY.plusDays(7));
+		event(3L, "Talk", "Music", null, null, MONDAY.plusDays(7));
+
+		assertThat(ids(index.search(null, "AI", null, null, 0, 50))).containsExactly(1L, 2L);
+		assertThat(ids(index.search("talk", null, MONDAY.plusDays(1), null, 0, 50))).containsExactly(2L, 3L);
+		assertThat(ids(index.search(null, null, null, MONDAY, 0, 50))).containsExactly(1L);
+	}
+
+	@Test
+	void pagesThroughRankedHits() {
+		for (long id = 1; id <= 5; id++) event(id, "Yoga " + id, null, null, null, MONDAY);
+
+		SearchPage<EventSeats> second = index.search("yoga", null, null, null, 1, 2);
+
+		assertThat(second.getTotal()).isEqualTo(5);
+		assertThat(ids(second)).containsExactly(3L, 4L);
+	}
+
+	@Test
+	void pagesPastTheEndAreEmptyEvenWhenTheOffsetOverflowsAnInt() {
+		event(1L, "Yoga", "Health", null, null, MONDAY);
+		event(2L, "Pottery", null, null, null, null);
+
+		for (String q : new String[] { "yoga", null }) {
+			SearchPage<EventSeats> far = index.search(q, null, null, null, 20_000_000, 200);
+			assertThat(far.getItems()).isEmpty();
+			assertThat(far.getPage()).isEqualTo(20_000_000);
+		}
+		assertThat(index.search(null, "Health", null, null, Integer.MAX_VALUE, 200).getItems()).isEmpty();
+	}
+
+	@Test
+	void queryWithoutTextOrCategoryPagesInDateOrderWithUndatedLast() {
+		event(5L, "Late", null, null, null, MONDAY.plusDays(2));
+		event(4L, "Undated", null, null, null, null);
+		event(3L, "Early", null, null, null, MONDAY);
+		event(2L, "Same time as late", null, null, null, MONDAY.plusDays(2));
+		event(1L, "Undated too", null, null, null, null);
+
+		assertThat(ids(index.search(null, null, null, null, 0, 2))).containsExactly(3L, 2L);
+		assertThat(ids(index.search(null, null, null, null, 1, 2))).containsExactly(5L, 1L);
+		assertThat(ids(index.search(null, null, null, null, 2, 2))).containsExactly(4L);
+		assertThat(index.search(null, null, null, null, 0, 2).getTotal()).isEqualTo(5);
+
+		SearchPage<EventSeats> ranged = index.search(null, null, MONDAY.plusDays(1), null, 0, 1);
+		assertThat(ids(ranged)).containsExactly(2L);
+		assertThat(ranged.getTotal()).isEqualTo(2);
+	}
+
+	@Test
+	void deepPagesMatchTheFullRanking() {
+		for (long id = 1; id <= 30; id++)
+			event(id, id % 3 == 0 ? "Jazz night" : "Jazz", null, null, null, MONDAY.plusDays(id % 4));
+
+		List<Long> all = search("jazz");
+		assertThat(all).hasSize(30);
+		for (int page = 0; page < 5; page++) {
+			SearchPage<EventSeats> p = index.search("jazz", null, null, null, page, 7);
+			assertThat(ids(p)).containsExactlyElementsOf(all.subList(page * 7, Math.min(30, page * 7 + 7)));
+			assertThat(p.getTotal()).isEqualTo(30);
+		}
+	}
+
+	@Test
+	void seatCountsComeFromTheLedgerOrOneQueryForUntrackedEvents() {
+		Event tracked = event(1L, "Salsa", null, null, null, MONDAY);
+		ledger.tryReserve(tracked);
+
+		Event untracked = new Event();
+		untracked.setId(2L);
+		untracked.setTitle("Salsa social");
+		untracked.setVenue("Main hall");
+		untracked.setMaxCapacity(10);
+		untracked.setDateTime(MONDAY.plusDays(1));
+		index.index(untracked);
+		when(eventRepo.findSeatsByIds(List.of(2L))).thenReturn(List.of(
+				new EventSeats(2L, "Salsa social", "Main hall", 10, 4L, null, null, MONDAY.plusDays(1), null)));
+
+		assertThat(index.search("salsa", null, null, null, 0, 50).getItems())
+				.extracting(EventSeats::getId, EventSeats::getRemainingSeats)
+				.containsExactly(tuple(1L, 9L), tuple(2L, 6L));
+		verify(eventRepo).findSeatsByIds(List.of(2L));
+		verify(regRepo, never()).countByEvent(untracked);
+	}
+
+	@Test
+	void editingAnEventReplacesItsOldTokens() {
+		Event e = event(1L, "Python basics", "Programming", null, null, MONDAY);
+
+		e.setTitle("Rust basics");
+		e.setCategory("Systems");
+		index.index(e);
+
+		assertThat(search("python")).isEmpty();
+		assertThat(search("rust")).containsExactly(1L);
+		assertThat(ids(index.search(null, "Programming", null, null, 0, 50))).isEmpty();
+		assertThat(ids(index.search(null, "Systems", null, null, 0, 50))).containsExactly(1L);
+	}
+
+	@Test
+	void removedEventsDisappearFromEveryIndex() {
+		event(1L, "Photography walk", "Art", null, null, MONDAY);
+		event(2L, "Photography lab", "Art", null, null, MONDAY);
+
+		index.remove(1L);
+
+		assertThat(search("photo")).containsExactly(2L);
+		assertThat(ids(index.search(null, "Art", null, null, 0, 50))).containsExactly(2L);
+		assertThat(ids(index.search(null, null, MONDAY, MONDAY, 0, 50))).containsExactly(2L);
+	}
+
+	@Test
+	void rebuildIndexesEveryStoredEvent() {
+		Event stored = new Event();
+		stored.setId(9L);
+		stored.setTitle("Startup pitch night");
+		stored.setMaxCapacity(10);
+		ledger.track(stored);
+		when(eventRepo.findAll()).thenReturn(List.of(stored));
+
+		index.rebuild();
+
+		assertThat(search("pitch")).containsExactly(9L);
+	}
+}
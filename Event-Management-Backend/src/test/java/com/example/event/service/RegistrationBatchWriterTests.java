@@ -0,0 +1,82 @@
+package com.example.event.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.event.dto.RegistrationTicket.Status;
+import com.example.event.entity.Event;
+import com.example.event.entity.Role;
+import com.example.event.entity.User;
+import com.example.event.repository.RegistrationRepository;
+import com.example.event.repository.UserRepository;
+
+@ActiveProfiles("local")
+@SpringBootTest
+class RegistrationBatchWriterTests {
+
+	@Autowired
+	private RegistrationBatchWriter writer;
+
+	@Autowired
+	private RegistrationService regService;
+
+	@Autowired
+	private EventService eventService;
+
+	@Autowired
+	private RegistrationRepository regRepo;
+
+	@Autowired
+	private UserRepository userRepo;
+
+	@Test
+	void duplicatesInTheBatchAndInTheDatabaseAreAlreadyRegistered() {
+		Event e = eventService.create(event(10));
+		User a = userRepo.save(student("batch-a@example.com"));
+		User b = userRepo.save(student("batch-b@example.com"));
+		User c = userRepo.save(student("batch-c@example.com"));
+		regService.register(b, e);
+
+		assertThat(writer.commit(e, List.of(a, a, b, c))).containsExactly(
+				Status.REGISTERED, Status.ALREADY_REGISTERED, Status.ALREADY_REGISTERED, Status.REGISTERED);
+		assertThat(regRepo.countByEventId(e.getId())).isEqualTo(3);
+	}
+
+	@Test
+	void seatsGoToTheEarliestTicketsAndTheRestAreFull() {
+		Event e = eventService.create(event(2));
+		User a = userRepo.save(student("overflow-a@example.com"));
+		User b = userRepo.save(student("overflow-b@example.com"));
+		User c = userRepo.save(student("overflow-c@example.com"));
+		User d = userRepo.save(student("overflow-d@example.com"));
+
+		assertThat(writer.commit(e, List.of(a, b, c, d))).containsExactly(
+				Status.REGISTERED, Status.REGISTERED, Status.EVENT_FULL, Status.EVENT_FULL);
+		assertThat(regRepo.countByEventId(e.getId())).isEqualTo(2);
+	}
+
+	private static Event event(int capacity) {
+		Event e = new Event();
+		e.setTitle("Batch " + capacity);
+		e.setVenue("Main hall");
+		e.setMaxCapacity(capacity);
+		e.setDateTime(LocalDateTime.now().plusDays(1));
+		return e;
+	}
+
+	private static User student(String email) {
+		User u = new User();
+		u.setName("Student");
+		u.setEmail(email);
+		u.setPassword("x");
+		u.setRole(Role.STUDENT);
+		return u;
+	}
+}
@@ -0,0 +1,175 @@
+package com.example.event.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.example.event.dto.RegistrationTicket;
+import com.example.event.dto.RegistrationTicket.Status;
+import com.example.event.entity.Event;
+import com.example.event.entity.User;
+import com.example.event.exception.BadRequestException;
+import com.example.event.exception.ResourceNotFoundException;
+import com.example.event.exception.ServiceBusyException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RegistrationPipelineTests {
+
+	private final RegistrationBatchWriter writer = mock(RegistrationBatchWriter.class);
+	private final RegistrationService regService = mock(RegistrationService.class);
+	private final SeatLedger ledger = mock(SeatLedger.class);
+
+	private final Event event = event(1L);
+	private RegistrationPipeline pipeline;
+
+	@BeforeEach
+	void seatsLeft() {
+		when(ledger.remaining(any())).thenReturn(10);
+	}
+
+	@AfterEach
+	void stopWriters() {
+		if (pipeline != null) pipeline.shutdown();
+	}
+
+	private RegistrationPipeline pipeline(int queueCapacity, long ticketTtlMillis) {
+		pipeline = new RegistrationPipeline(writer, regService, ledger, new SimpleMeterRegistry(),
+				1, 200, queueCapacity, ticketTtlMillis, 100_000);
+		return pipeline;
+	}
+
+	@Test
+	void ticketsResolveWithTheirBatchOutcome() throws Exception {
+		when(writer.commit(eq(event), anyList())).thenAnswer(inv -> {
+			List<User> users = inv.getArgument(1);
+			return users.stream().map(u -> u.getId() == 1L ? Status.REGISTERED : Status.EVENT_FULL).toList();
+		});
+		RegistrationPipeline p = pipeline(100, 60_000);
+
+		RegistrationTicket first = p.submit(user(1L), event);
+		RegistrationTicket second = p.submit(user(2L), event);
+		assertThat(first.getStatus()).isEqualTo(Status.PENDING);
+
+		assertThat(outcome(p, first, user(1L)).getStatus()).isEqualTo(Status.REGISTERED);
+		assertThat(outcome(p, second, user(2L)).getStatus()).isEqualTo(Status.EVENT_FULL);
+	}
+
+	@Test
+	void failedBatchFallsBackToOneByOne() throws Exception {
+		when(writer.commit(eq(event), anyList()))
+				.thenThrow(new DataIntegrityViolationException("duplicate key (user_id, event_id)"));
+		doThrow(new BadRequestException("Already registered")).when(regService)
+				.register(argThat(u -> u.getId() == 2L), eq(event));
+		RegistrationPipeline p = pipeline(100, 60_000);
+
+		RegistrationTicket fresh = p.submit(user(1L), event);
+		RegistrationTicket duplicate = p.submit(user(2L), event);
+
+		assertThat(outcome(p, fresh, user(1L)).getStatus()).isEqualTo(Status.REGISTERED);
+		assertThat(outcome(p, duplicate, user(2L)).getStatus()).isEqualTo(Status.ALREADY_REGISTERED);
+	}
+
+	@Test
+	void fullQueueAnswersServiceBusy() throws Exception {
+		CountDownLatch committing = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		when(writer.commit(eq(event), anyList())).thenAnswer(inv -> {
+			committing.countDown();
+			release.await();
+			return List.of(Status.REGISTERED);
+		});
+		RegistrationPipeline p = pipeline(2, 60_000);
+
+		// The only writer takes the first ticket and hangs; two more fill the lane
+		p.submit(user(1L), event);
+		assertThat(committing.await(5, TimeUnit.SECONDS)).isTrue();
+		p.submit(user(2L), event);
+		p.submit(user(3L), event);
+
+		assertThatThrownBy(() -> p.submit(user(4L), event))
+				.isInstanceOf(ServiceBusyException.class);
+		release.countDown();
+	}
+
+	@Test
+	void soldOutEventIsRejectedWithoutQueueing() {
+		when(ledger.remaining(event)).thenReturn(0);
+		RegistrationPipeline p = pipeline(100, 60_000);
+
+		assertThatThrownBy(() -> p.submit(user(1L), event))
+				.isInstanceOf(BadRequestException.class)
+				.hasMessage("Event full");
+		assertThat(p.lanes()).isZero();
+	}
+
+	@Test
+	void ticketIsOnlyVisibleToItsOwner() {
+		when(writer.commit(eq(event), anyList())).thenReturn(List.of(Status.REGISTERED));
+		RegistrationPipeline p = pipeline(100, 60_000);
+
+		RegistrationTicket t = p.submit(user(1L), event);
+
+		assertThatThrownBy(() -> p.await(t.getTicketId(), user(2L), 0))
+				.isInstanceOf(ResourceNotFoundException.class);
+	}
+
+	@Test
+	void settledTicketExpiresAfterItsTtl() throws Exception {
+		when(writer.commit(eq(event), anyList())).thenReturn(List.of(Status.REGISTERED));
+		RegistrationPipeline p = pipeline(100, 200);
+
+		RegistrationTicket t = p.submit(user(1L), event);
+		assertThat(outcome(p, t, user(1L)).getStatus()).isEqualTo(Status.REGISTERED);
+
+		Thread.sleep(400);
+		assertThatThrownBy(() -> p.await(t.getTicketId(), user(1L), 0))
+				.isInstanceOf(ResourceNotFoundException.class);
+	}
+
+	@Test
+	void drainedLaneIsDropped() throws Exception {
+		when(writer.commit(eq(event), anyList())).thenReturn(List.of(Status.REGISTERED));
+		RegistrationPipeline p = pipeline(100, 60_000);
+
+		RegistrationTicket t = p.submit(user(1L), event);
+		outcome(p, t, user(1L));
+
+		long deadline = System.currentTimeMillis() + 5_000;
+		while (p.lanes() > 0 && System.currentTimeMillis() < deadline) Thread.sleep(10);
+		assertThat(p.lanes()).isZero();
+	}
+
+	private static RegistrationTicket outcome(RegistrationPipeline p, RegistrationTicket t, User owner) throws Exception {
+		return p.await(t.getTicketId(), owner, 5_000).get(10, TimeUnit.SECONDS);
+	}
+
+	private static Event event(long id) {
+		Event e = new Event();
+		e.setId(id);
+		e.setMaxCapacity(10);
+		return e;
+	}
+
+	private static User user(long id) {
+		User u = new User();
+		u.setId(id);
+		u.setEmail("student" + id + "@example.com");
+		return u;
+	}
+}
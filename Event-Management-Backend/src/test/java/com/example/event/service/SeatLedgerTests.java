@@ -0,0 +1,111 @@
+package com.example.event.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.event.entity.Event;
+import com.example.event.repository.EventRepository;
+import com.example.event.repository.RegistrationRepository;
+
+class SeatLedgerTests {
+
+	private final RegistrationRepository regRepo = mock(RegistrationRepository.class);
+
+	private final SeatLedger ledger = new SeatLedger(mock(EventRepository.class), regRepo, 60000);
+
+	private Event event(long id, int capacity) {
+		Event e = new Event();
+		e.setId(id);
+		e.setMaxCapacity(capacity);
+		return e;
+	}
+
+	@Test
+	void neverGrantsMoreThanCapacityUnderContention() throws Exception {
+		Event e = event(1L, 100);
+		ledger.track(e);
+
+		ExecutorService pool = Executors.newFixedThreadPool(32);
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicInteger granted = new AtomicInteger();
+
+		for (int i = 0; i < 5000; i++) {
+			pool.execute(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+				if (ledger.tryReserve(e)) granted.incrementAndGet();
+			});
+		}
+		start.countDown();
+		pool.shutdown();
+		assertThat(pool.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+		assertThat(granted.get()).isEqualTo(100);
+		assertThat(ledger.remaining(e)).isZero();
+	}
+
+	@Test
+	void releasedSeatCanBeTakenAgain() {
+		Event e = event(2L, 1);
+		ledger.track(e);
+
+		assertThat(ledger.tryReserve(e)).isTrue();
+		assertThat(ledger.tryReserve(e)).isFalse();
+
+		ledger.release(e.getId());
+		assertThat(ledger.tryReserve(e)).isTrue();
+	}
+
+	@Test
+	void capacityChangeAppliesToExistingCounter() {
+		Event e = event(3L, 1);
+		ledger.track(e);
+		assertThat(ledger.tryReserve(e)).isTrue();
+
+		e.setMaxCapacity(3);
+		ledger.track(e);
+		assertThat(ledger.remaining(e)).isEqualTo(2);
+	}
+
+	@Test
+	void reconcileCorrectsDriftFromTheRegistrationTable() {
+		Event e = event(4L, 5);
+		ledger.track(e);
+		ledger.tryReserve(e);
+		ledger.tryReserve(e);
+
+		// Both rows were removed behind the ledger's back, and one other registered elsewhere
+		when(regRepo.countGroupedByEvent()).thenReturn(List.<Object[]>of(new Object[] { 4L, 1L }));
+		ledger.reconcile();
+
+		assertThat(ledger.remaining(e)).isEqualTo(4);
+	}
+
+	@Test
+	void reconcileLeavesCountersThatMovedMeanwhile() {
+		Event e = event(5L, 5);
+		ledger.track(e);
+
+		// A registration commits while the pass is querying
+		when(regRepo.countGroupedByEvent()).thenAnswer(inv -> {
+			ledger.tryReserve(e);
+			return List.<Object[]>of(new Object[] { 5L, 0L });
+		});
+		ledger.reconcile();
+
+		assertThat(ledger.remaining(e)).isEqualTo(4);
+	}
+}
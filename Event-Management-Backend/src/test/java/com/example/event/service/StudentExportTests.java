@@ -0,0 +1,98 @@
+package com.example.event.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.event.entity.Event;
+import com.example.event.entity.Role;
+import com.example.event.entity.User;
+import com.example.event.repository.UserRepository;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+@ActiveProfiles("local")
+@SpringBootTest
+class StudentExportTests {
+
+	@Autowired
+	private EventService eventService;
+
+	@Autowired
+	private RegistrationService regService;
+
+	@Autowired
+	private UserRepository userRepo;
+
+	@Autowired
+	private ObjectMapper mapper;
+
+	@Test
+	void csvCellsThatLookLikeFormulasAreExportedAsText() throws Exception {
+		Event e = eventService.create(event("Formula night"));
+		regService.register(userRepo.save(student("=HYPERLINK(\"http://evil\",\"x\")", "formula@example.com")), e);
+		regService.register(userRepo.save(student("Plain, Name", "@mention@example.com")), e);
+
+		StringWriter out = new StringWriter();
+		eventService.exportStudents(e.getId(), "csv", out);
+
+		List<String> lines = out.toString().lines().toList();
+		assertThat(lines.get(0)).isEqualTo("id,name,email,registeredAt");
+		assertThat(lines.get(1)).contains(",\"'=HYPERLINK(\"\"http://evil\"\",\"\"x\"\")\",formula@example.com,");
+		assertThat(lines.get(2)).contains(",\"Plain, Name\",'@mention@example.com,");
+	}
+
+	@Test
+	void ndjsonHasOneParsableObjectPerLine() throws Exception {
+		Event e = eventService.create(event("Line by line"));
+		regService.register(userRepo.save(student("Quote \" and \\ slash", "ndjson1@example.com")), e);
+		regService.register(userRepo.save(student("Second\nline", "ndjson2@example.com")), e);
+
+		StringWriter out = new StringWriter();
+		eventService.exportStudents(e.getId(), "ndjson", out);
+
+		assertThat(out.toString()).endsWith("}\n");
+		List<JsonNode> rows = out.toString().lines().map(mapper::readTree).toList();
+		assertThat(rows).extracting(r -> r.get("email").asString())
+				.containsExactly("ndjson1@example.com", "ndjson2@example.com");
+		assertThat(rows.get(0).get("name").asString()).isEqualTo("Quote \" and \\ slash");
+		assertThat(rows.get(1).get("name").asString()).isEqualTo("Second\nline");
+		assertThat(rows.get(0).get("registeredAt").isString()).isTrue();
+	}
+
+	@Test
+	void emptyNdjsonExportIsEmpty() throws Exception {
+		Event e = eventService.create(event("Nobody yet"));
+
+		StringWriter out = new StringWriter();
+		eventService.exportStudents(e.getId(), "ndjson", out);
+
+		assertThat(out.toString()).isEmpty();
+	}
+
+	private static Event event(String title) {
+		Event e = new Event();
+		e.setTitle(title);
+		e.setVenue("Main hall");
+		e.setMaxCapacity(10);
+		e.setDateTime(LocalDateTime.now().plusDays(1));
+		return e;
+	}
+
+	private static User student(String name, String email) {
+		User u = new User();
+		u.setName(name);
+		u.setEmail(email);
+		u.setPassword("x");
+		u.setRole(Role.STUDENT);
+		return u;
+	}
+}
@@ -0,0 +1,105 @@
+package com.example.event.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.event.entity.Event;
+import com.example.event.entity.Role;
+import com.example.event.entity.User;
+import com.example.event.repository.UserRepository;
+
+@ActiveProfiles("local")
+@SpringBootTest
+class WaitlistServiceTests {
+
+	@Autowired
+	private WaitlistService waitlist;
+
+	@Autowired
+	private EventService eventService;
+
+	@Autowired
+	private RegistrationService regService;
+
+	@Autowired
+	private UserRepository userRepo;
+
+	@Autowired
+	private TransactionTemplate tx;
+
+	@Test
+	void positionsFollowJoinOrderAndMoveUpAsTheHeadIsServed() {
+		Event e = fullEvent("Queue");
+		User first = student("queue-1@example.com");
+		User second = student("queue-2@example.com");
+		User third = student("queue-3@example.com");
+
+		assertThat(waitlist.join(first, e)).isEqualTo(1);
+		assertThat(waitlist.join(second, e)).isEqualTo(2);
+		assertThat(waitlist.join(third, e)).isEqualTo(3);
+		assertThat(waitlist.join(second, e)).isEqualTo(2);
+
+		Boolean promoted = tx.execute(s -> waitlist.promoteNext(e));
+		assertThat(promoted).isTrue();
+
+		assertThat(regService.myEventIds(first)).contains(e.getId());
+		assertThat(waitlist.position(second, e)).isEqualTo(1);
+		assertThat(waitlist.position(third, e)).isEqualTo(2);
+	}
+
+	@Test
+	void editingTheEventDoesNotResetItsQueueCounter() {
+		Event e = fullEvent("Counter");
+		User early = student("counter-1@example.com");
+		User late = student("counter-2@example.com");
+		waitlist.join(early, e);
+
+		Event edit = new Event();
+		edit.setTitle("Counter, renamed");
+		eventService.update(e.getId(), edit);
+
+		assertThat(waitlist.join(late, e)).isEqualTo(2);
+		assertThat(waitlist.position(early, e)).isEqualTo(1);
+	}
+
+	@Test
+	void queuesOfDifferentEventsAreNumberedSeparately() {
+		Event a = fullEvent("Queue A");
+		Event b = fullEvent("Queue B");
+		User u = student("two-queues@example.com");
+		User v = student("two-queues-2@example.com");
+
+		waitlist.join(u, a);
+		waitlist.join(v, a);
+
+		assertThat(waitlist.join(u, b)).isEqualTo(1);
+	}
+
+	// Capacity 1, taken, so students can only join the waitlist
+	private Event fullEvent(String title) {
+		Event e = new Event();
+		e.setTitle(title);
+		e.setVenue("Main hall");
+		e.setMaxCapacity(1);
+		e.setDateTime(LocalDateTime.now().plusDays(2));
+		Event saved = eventService.create(e);
+		regService.register(student(title.replace(' ', '-').replace(",", "") + "-holder@example.com"), saved);
+		return saved;
+	}
+
+	private User student(String email) {
+		User u = new User();
+		u.setName("Waiting");
+		u.setEmail(email);
+		u.setPassword("x");
+		u.setRole(Role.STUDENT);
+		return userRepo.save(u);
+	}
+}
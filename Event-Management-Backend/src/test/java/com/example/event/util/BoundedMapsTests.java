@@ -0,0 +1,55 @@
+package com.example.event.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class BoundedMapsTests {
+
+	@Test
+	void mapWithinBudgetIsLeftAlone() {
+		Map<Integer, Long> map = map(10, 0L);
+
+		BoundedMaps.trim(map, 10, 100L, v -> v, v -> true);
+
+		assertThat(map).hasSize(10);
+	}
+
+	@Test
+	void expiredValuesGoFirst() {
+		Map<Integer, Long> map = map(8, 1_000L);
+		for (int i = 100; i < 105; i++) map.put(i, 50L);
+
+		BoundedMaps.trim(map, 10, 100L, v -> v, v -> true);
+
+		assertThat(map).hasSize(8).containsOnlyKeys(0, 1, 2, 3, 4, 5, 6, 7);
+	}
+
+	@Test
+	void overBudgetMapShrinksToNinetyPercent() {
+		Map<Integer, Long> map = map(101, 1_000L);
+
+		BoundedMaps.trim(map, 100, 100L, v -> v, v -> true);
+
+		assertThat(map).hasSize(90);
+	}
+
+	@Test
+	void valuesThatAreNotEvictableStay() {
+		Map<Integer, Long> map = map(101, 1_000L);
+
+		// e.g. idempotency entries whose request is still running
+		BoundedMaps.trim(map, 100, 100L, v -> v, v -> false);
+
+		assertThat(map).hasSize(101);
+	}
+
+	private static Map<Integer, Long> map(int n, long expiresAt) {
+		Map<Integer, Long> map = new LinkedHashMap<>();
+		for (int i = 0; i < n; i++) map.put(i, expiresAt);
+		return map;
+	}
+}
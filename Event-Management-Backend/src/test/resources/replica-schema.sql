@@ -0,0 +1,59 @@
+-- Schema for the second in-memory database that plays the read replica in
+-- ReadWriteRoutingTests. Runs on every connection, hence IF NOT EXISTS.
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    role VARCHAR(50) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS event (
+    id BIGINT PRIMARY KEY,
+    title VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    date_time TIMESTAMP(6),
+    venue VARCHAR(255) NOT NULL,
+    max_capacity INTEGER NOT NULL,
+    speaker VARCHAR(255),
+    category VARCHAR(255),
+    waitlist_seq BIGINT,
+    deleted_at TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS registration (
+    id BIGINT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    event_id BIGINT NOT NULL,
+    registered_at TIMESTAMP(6),
+    UNIQUE (user_id, event_id)
+);
+
+CREATE TABLE IF NOT EXISTS waitlist_entry (
+    id BIGINT PRIMARY KEY,
+    seq BIGINT,
+    user_id BIGINT NOT NULL,
+    event_id BIGINT NOT NULL,
+    joined_at TIMESTAMP(6),
+    UNIQUE (user_id, event_id)
+);
+
+CREATE TABLE IF NOT EXISTS event_archive (
+    id BIGINT PRIMARY KEY,
+    title VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    date_time TIMESTAMP(6),
+    venue VARCHAR(255) NOT NULL,
+    max_capacity INTEGER NOT NULL,
+    speaker VARCHAR(255),
+    category VARCHAR(255),
+    registered BIGINT NOT NULL,
+    archived_at TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS registration_archive (
+    id BIGINT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    event_id BIGINT NOT NULL,
+    registered_at TIMESTAMP(6)
+);
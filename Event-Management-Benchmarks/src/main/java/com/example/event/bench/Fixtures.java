@@ -0,0 +1,39 @@
+package com.example.event.bench;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.event.dto.EventSeats;
+import com.example.event.entity.Role;
+import com.example.event.entity.User;
+
+final class Fixtures {
+
+	static final String JWT_SECRET = "event-management-secret-key-1234567890123456";
+
+	private Fixtures() {
+	}
+
+	static User student(long id) {
+		User u = new User();
+		u.setId(id);
+		u.setName("Student " + id);
+		u.setEmail("student" + id + "@example.com");
+		u.setPassword("$2a$10$abcdefghijklmnopqrstuuE7V5mC7dB1y0lq0x3pDqVq9W5Uf6n5a");
+		u.setRole(Role.STUDENT);
+		return u;
+	}
+
+	// One catalog page as the /api/events/available query returns it
+	static List<EventSeats> catalogPage(int size) {
+		List<EventSeats> rows = new ArrayList<>(size);
+		LocalDateTime base = LocalDateTime.of(2026, 1, 15, 10, 0);
+		for (int i = 1; i <= size; i++) {
+			rows.add(new EventSeats((long) i, "Event " + i, "Hall " + (i % 7), 100, (long) (i % 100),
+					i % 2 == 0 ? "Workshop" : "Education", "Speaker " + i, base.plusDays(i),
+					"Description for event " + i + " with a realistic amount of text in it."));
+		}
+		return rows;
+	}
+}
@@ -0,0 +1,46 @@
+package com.example.event.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.event.security.JwtUtil;
+
+import io.jsonwebtoken.Claims;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+	private JwtUtil jwt;
+	private String token;
+
+	@Setup
+	public void setup() {
+		jwt = new JwtUtil(Fixtures.JWT_SECRET, 86_400_000L, 60_000L);
+		token = jwt.generateToken("student@example.com", "STUDENT");
+	}
+
+	@Benchmark
+	public String generateToken() {
+		return jwt.generateToken("student@example.com", "STUDENT");
+	}
+
+	@Benchmark
+	public Claims extractClaims() {
+		return jwt.extractClaims(token);
+	}
+}
@@ -0,0 +1,77 @@
+package com.example.event.bench;
+
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.example.event.entity.User;
+import com.example.event.repository.UserRepository;
+import com.example.event.security.JwtAuthenticationFilter;
+import com.example.event.security.JwtUtil;
+import com.example.event.security.PrincipalCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Per-request cost of JwtAuthenticationFilter with a warm principal cache,
+ * i.e. steady-state authentication: header parse, signature check, cache hit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class JwtFilterBenchmark {
+
+	private JwtAuthenticationFilter filter;
+	private String header;
+
+	@Setup
+	public void setup() {
+		JwtUtil jwt = new JwtUtil(Fixtures.JWT_SECRET, 86_400_000L, 60_000L);
+		User user = Fixtures.student(1L);
+
+		// Only findByEmail is reached; the cache absorbs it after the first call
+		UserRepository users = (UserRepository) Proxy.newProxyInstance(
+				UserRepository.class.getClassLoader(),
+				new Class<?>[] { UserRepository.class },
+				(proxy, method, args) -> {
+					if (method.getName().equals("findByEmail")) return Optional.of(user);
+					throw new UnsupportedOperationException(method.getName());
+				});
+
+		filter = new JwtAuthenticationFilter(jwt, users, new PrincipalCache(10_000, 300_000),
+				new SimpleMeterRegistry());
+		header = "Bearer " + jwt.generateToken(user.getEmail(), "STUDENT");
+	}
+
+	@Benchmark
+	public Object authenticate() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/events/available");
+		request.addHeader("Authorization", header);
+
+		filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+		Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+		SecurityContextHolder.clearContext();
+		return principal;
+	}
+}
@@ -0,0 +1,114 @@
+package com.example.event.bench;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.event.EventManagementBackendApplication;
+import com.example.event.entity.Event;
+import com.example.event.entity.User;
+import com.example.event.exception.BadRequestException;
+import com.example.event.repository.RegistrationRepository;
+import com.example.event.repository.UserRepository;
+import com.example.event.service.EventService;
+import com.example.event.service.RegistrationService;
+
+/**
+ * Capacity check in RegistrationService.register against an embedded H2
+ * database: the full-event rejection path, a register/unregister round trip,
+ * and the old count query for comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RegistrationBenchmark {
+
+	private ConfigurableApplicationContext ctx;
+	private RegistrationService registrations;
+	private RegistrationRepository regRepo;
+
+	private Event fullEvent;
+	private Event openEvent;
+	private User student;
+	private final AtomicLong failures = new AtomicLong();
+
+	@Setup(Level.Trial)
+	public void start() {
+		SpringApplication app = new SpringApplication(EventManagementBackendApplication.class);
+		// Embedded H2 from the backend's "local" profile
+		ctx = app.run("--spring.profiles.active=local", "--server.port=0");
+
+		registrations = ctx.getBean(RegistrationService.class);
+		regRepo = ctx.getBean(RegistrationRepository.class);
+		EventService events = ctx.getBean(EventService.class);
+		UserRepository users = ctx.getBean(UserRepository.class);
+
+		User filler = Fixtures.student(0L);
+		filler.setId(null);
+		filler = users.save(filler);
+
+		student = Fixtures.student(0L);
+		student.setId(null);
+		student.setEmail("bench-student@example.com");
+		student = users.save(student);
+
+		fullEvent = events.create(event("Full event", 1));
+		registrations.register(filler, fullEvent);
+
+		openEvent = events.create(event("Open event", 1_000));
+	}
+
+	private static Event event(String title, int capacity) {
+		Event e = new Event();
+		e.setTitle(title);
+		e.setVenue("Main hall");
+		e.setMaxCapacity(capacity);
+		e.setDateTime(LocalDateTime.now().plusDays(30));
+		return e;
+	}
+
+	@TearDown(Level.Trial)
+	public void stop() {
+		ctx.close();
+	}
+
+	@Benchmark
+	public long rejectFullEvent() {
+		try {
+			registrations.register(student, fullEvent);
+		} catch (BadRequestException expected) {
+			return failures.incrementAndGet();
+		}
+		throw new IllegalStateException("full event accepted a registration");
+	}
+
+	@Benchmark
+	public void registerAndUnregister() {
+		registrations.register(student, openEvent);
+		Long id = regRepo.findByUserAndEvent(student, openEvent).orElseThrow().getId();
+		registrations.unregisterByRegistrationId(student, id);
+	}
+
+	@Benchmark
+	public long legacyCountCheck() {
+		return regRepo.countByEvent(openEvent);
+	}
+}
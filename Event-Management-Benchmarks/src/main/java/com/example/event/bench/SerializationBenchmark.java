@@ -0,0 +1,82 @@
+package com.example.event.bench;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.event.dto.ApiResponse;
+import com.example.event.dto.CursorPage;
+import com.example.event.dto.EventSeats;
+
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+/**
+ * ApiResponse encoding: a small login-style payload and one catalog page
+ * (the EventSeats mapping from query rows plus Jackson serialization), and
+ * the same page in the negotiated binary encodings (Smile, CBOR).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+	@Param({ "20", "200" })
+	public int pageSize;
+
+	private final JsonMapper mapper = JsonMapper.builder().build();
+	private final SmileMapper smile = SmileMapper.builder().build();
+	private final CBORMapper cbor = CBORMapper.builder().build();
+
+	private List<EventSeats> page;
+	private ApiResponse<Map<String, String>> login;
+
+	@Setup
+	public void setup() {
+		page = Fixtures.catalogPage(pageSize);
+		login = new ApiResponse<>(true, "Login successful",
+				Map.of("token", "eyJhbGciOiJIUzI1NiJ9.eyJzdWIiOiJzdHVkZW50In0.signature", "role", "STUDENT"));
+	}
+
+	@Benchmark
+	public byte[] smallApiResponse() {
+		return mapper.writeValueAsBytes(login);
+	}
+
+	@Benchmark
+	public byte[] catalogPage() {
+		return mapper.writeValueAsBytes(new ApiResponse<>(true, "Seats Fetched Success", new CursorPage<>(page, null)));
+	}
+
+	@Benchmark
+	public byte[] mapAndSerializeCatalogPage() {
+		return mapper.writeValueAsBytes(
+				new ApiResponse<>(true, "Seats Fetched Success", new CursorPage<>(Fixtures.catalogPage(pageSize), null)));
+	}
+
+	@Benchmark
+	public byte[] catalogPageSmile() {
+		return smile.writeValueAsBytes(new ApiResponse<>(true, "Seats Fetched Success", new CursorPage<>(page, null)));
+	}
+
+	@Benchmark
+	public byte[] catalogPageCbor() {
+		return cbor.writeValueAsBytes(new ApiResponse<>(true, "Seats Fetched Success", new CursorPage<>(page, null)));
+	}
+}
@@ -33,7 +33,7 @@ export default function MyRegistrations() {
     loadData();
   }, [loadData]);
 
-  const handleUnregister = async (registrationId) => {
+  const handleUnregister = async (registrationId, eventId) => {
     if (!token) {
       setError("Please login first");
       return;
@@ -43,7 +43,7 @@ export default function MyRegistrations() {
     setError("");
 
     try {
-      await unregisterEvent(registrationId, token);
+      await unregisterEvent(eventId, token);
 
       setRegistrations(prev => prev.filter(r => r.id !== registrationId));
     } catch (err) {
@@ -139,7 +139,12 @@ export default function MyRegistrations() {
       ) : (
         registrations.map((r) => {
           const isBusy = !!unregisterLoading[r.id];
-          const event = r.event || {};
+          const event = {
+            title: r.eventTitle,
+            venue: r.venue,
+            category: r.category,
+            speaker: r.speaker
+          };
           const user = r.user || {};
           const registeredAt = r.registeredAt
             ? new Date(r.registeredAt).toLocaleString("en-IN")
@@ -215,7 +220,7 @@ export default function MyRegistrations() {
               </div>
 
               <button
-                onClick={() => handleUnregister(r.id)}
+                onClick={() => handleUnregister(r.id, r.eventId)}
                 disabled={isBusy}
                 style={{
                   background: isBusy ? "#6c757d" : "#dc3545",
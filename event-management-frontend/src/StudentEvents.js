@@ -1,122 +1,186 @@
-import { useEffect, useState, useCallback, useMemo } from "react";
+import { useEffect, useState, useCallback, useMemo, useRef } from "react";
 import {
   registerEvent,
-  getStudentEvents
+  searchEvents,
+  subscribeSeats
 } from "./api";
 
 const BASE = "http://localhost:8080/api";
+const SEARCH_DEBOUNCE_MS = 300;
+const SEARCH_PAGE_SIZE = 50;
+
+// LocalDateTime strings for the backend's from/to (no zone, local wall clock)
+const localDateTime = (d) => {
+  const pad = (n) => String(n).padStart(2, "0");
+  return `${d.getFullYear()}-${pad(d.getMonth() + 1)}-${pad(d.getDate())}` +
+    `T${pad(d.getHours())}:${pad(d.getMinutes())}:${pad(d.getSeconds())}`;
+};
+
+const todayRange = () => {
+  const start = new Date();
+  start.setHours(0, 0, 0, 0);
+  const end = new Date(start);
+  end.setHours(23, 59, 59, 0);
+  return { from: localDateTime(start), to: localDateTime(end) };
+};
+
+const toEvent = (event) => ({
+  ...event,
+  id: Number(event.id),
+  remainingSeats: Number(event.remainingSeats),
+  maxCapacity: Number(event.maxCapacity)
+});
 
 export default function StudentEvents() {
   const [events, setEvents] = useState([]);
-  const [allEvents, setAllEvents] = useState([]);
+  const [total, setTotal] = useState(0);
+  const [nextPage, setNextPage] = useState(0);
+  const [registeredIds, setRegisteredIds] = useState(() => new Set());
+  const [knownCategories, setKnownCategories] = useState(() => new Set());
   const [loading, setLoading] = useState(true);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [error, setError] = useState("");
   const [registerLoading, setRegisterLoading] = useState({});
   
   //  FILTER STATES
   const [searchTerm, setSearchTerm] = useState("");
+  const [debouncedTerm, setDebouncedTerm] = useState("");
   const [selectedCategory, setSelectedCategory] = useState("all");
   const [selectedDate, setSelectedDate] = useState("all");
 
   const token = localStorage.getItem("token");
-
-  //  LOAD DATA - Perfect backend sync
-  const loadData = useCallback(async () => {
+  // Bumped on every new query, so a slow response for an old one is dropped
+  const querySeq = useRef(0);
+
+  //  SEARCH PARAMS - text, category and date are filtered and ranked by the server
+  const params = useMemo(() => {
+    const p = {};
+    if (debouncedTerm) p.q = debouncedTerm;
+    if (selectedCategory !== "all") p.category = selectedCategory;
+    if (selectedDate === "today") Object.assign(p, todayRange());
+    return p;
+  }, [debouncedTerm, selectedCategory, selectedDate]);
+
+  const fetchPage = useCallback(async (page) => {
+    const res = await searchEvents({ ...params, page, size: SEARCH_PAGE_SIZE }, token);
+    const items = Array.isArray(res?.data?.items) ? res.data.items.map(toEvent) : [];
+    return { items, total: Number(res?.data?.total) || 0 };
+  }, [params, token]);
+
+  const remember = useCallback((items) =>
+    setKnownCategories(prev => {
+      const next = new Set(prev);
+      items.forEach(e => e.category && next.add(e.category));
+      return next.size === prev.size ? prev : next;
+    }), []);
+
+  //  LOAD DATA - first page of the current query (quiet: refresh in place, no loading screen)
+  const loadData = useCallback(async ({ quiet } = {}) => {
     if (!token) {
       setError("Please login first");
       setLoading(false);
       return;
     }
 
+    const seq = ++querySeq.current;
     try {
-      setLoading(true);
-      const [eventsRes, myEventsRes] = await Promise.all([
-        getStudentEvents(token),
+      if (!quiet) setLoading(true);
+      const [first, myEventsRes] = await Promise.all([
+        fetchPage(0),
         fetch(`${BASE}/registrations/my/events`, {
           headers: { Authorization: `Bearer ${token}` }
         }).then(res => res.json())
       ]);
-
-      const eventsData = Array.isArray(eventsRes?.data)
-        ? eventsRes.data.map(event => ({
-            ...event,
-            id: Number(event.id),
-            remainingSeats: Number(event.remainingSeats),
-            maxCapacity: Number(event.maxCapacity)
-          }))
-        : [];
-
-      const registeredEventIds = Array.isArray(myEventsRes?.data)
-        ? myEventsRes.data.map(id => Number(id))
-        : [];
-
-      const eventsWithStatus = eventsData.map(event => ({
-        ...event,
-        isRegistered: registeredEventIds.includes(event.id)
-      }));
-
-      setEvents(eventsWithStatus);
-      setAllEvents(eventsWithStatus);
+      if (seq !== querySeq.current) return;
+
+      setRegisteredIds(new Set(
+        Array.isArray(myEventsRes?.data) ? myEventsRes.data.map(id => Number(id)) : []
+      ));
+      setEvents(first.items);
+      setTotal(first.total);
+      setNextPage(1);
+      remember(first.items);
       setError("");
     } catch (error) {
       console.error("Load error:", error);
-      setError(error.message || "Failed to load events");
+      if (seq === querySeq.current) setError(error.message || "Failed to load events");
     } finally {
-      setLoading(false);
+      if (seq === querySeq.current) setLoading(false);
     }
-  }, [token]);
+  }, [token, fetchPage, remember]);
 
-  useEffect(() => {
-    loadData();
-  }, [loadData]);
+  //  NEXT PAGE - appended below what is already shown
+  const loadMore = async () => {
+    const seq = querySeq.current;
+    setLoadingMore(true);
+    try {
+      const more = await fetchPage(nextPage);
+      if (seq !== querySeq.current) return;
 
-  //  ENHANCED FILTER LOGIC
-  const filteredEvents = useMemo(() => {
-    let filtered = [...allEvents];
-
-    // Search by title OR speaker OR description
-    if (searchTerm.trim()) {
-      const searchLower = searchTerm.toLowerCase();
-      filtered = filtered.filter(event =>
-        event.title.toLowerCase().includes(searchLower) ||
-        (event.speaker && event.speaker.toLowerCase().includes(searchLower)) ||
-        (event.description && event.description.toLowerCase().includes(searchLower))
-      );
+      setEvents(prev => {
+        const seen = new Set(prev.map(e => e.id));
+        return prev.concat(more.items.filter(e => !seen.has(e.id)));
+      });
+      setTotal(more.total);
+      setNextPage(nextPage + 1);
+      remember(more.items);
+    } catch (err) {
+      if (seq === querySeq.current) setError(err.message || "Failed to load more events");
+    } finally {
+      setLoadingMore(false);
     }
+  };
 
-    // Category filter
-    if (selectedCategory !== "all") {
-      filtered = filtered.filter(event => 
-        event.category === selectedCategory
-      );
-    }
+  //  Typing is debounced; category and date changes apply at once
+  useEffect(() => {
+    const timer = setTimeout(() => setDebouncedTerm(searchTerm.trim()), SEARCH_DEBOUNCE_MS);
+    return () => clearTimeout(timer);
+  }, [searchTerm]);
 
-    // Date/Seats filter
-    if (selectedDate !== "all") {
-      filtered = filtered.filter(event => {
-        if (selectedDate === "urgent") return event.remainingSeats <= 5;
-        if (selectedDate === "many") return event.remainingSeats > 10;
-        if (selectedDate === "today") {
-          const today = new Date();
-          today.setHours(0, 0, 0, 0);
-          const eventDate = new Date(event.date_time);
-          return eventDate.toDateString() === today.toDateString();
-        }
-        return true;
-      });
-    }
+  const firstLoad = useRef(true);
+  useEffect(() => {
+    loadData({ quiet: !firstLoad.current });
+    firstLoad.current = false;
+  }, [loadData]);
 
-    return filtered;
-  }, [allEvents, searchTerm, selectedCategory, selectedDate]);
+  //  LIVE SEATS - server pushes seat counts, no refetching; one stream across filter changes
+  const reload = useRef(loadData);
+  reload.current = loadData;
 
-  //  Categories
-  const categories = useMemo(() => {
-    const catSet = allEvents.reduce((acc, event) => {
-      if (event.category) acc.add(event.category);
-      return acc;
-    }, new Set());
-    return ["all", ...Array.from(catSet)];
-  }, [allEvents]);
+  useEffect(() => {
+    if (!token) return;
+
+    const applyDeltas = (deltas) => {
+      const byId = new Map(deltas.map(d => [Number(d.id), d]));
+      setEvents(eventsArray =>
+        eventsArray
+          .filter(e => !byId.get(e.id)?.removed)
+          .map(e => {
+            const d = byId.get(e.id);
+            return d ? { ...e, remainingSeats: Number(d.remainingSeats) } : e;
+          }));
+    };
+
+    return subscribeSeats(token, applyDeltas, () => reload.current({ quiet: true }));
+  }, [token]);
+
+  //  SEAT FILTERS - seat counts change live, so these apply to the loaded results
+  const filteredEvents = useMemo(() => {
+    const withStatus = events.map(event => ({
+      ...event,
+      isRegistered: registeredIds.has(event.id)
+    }));
+
+    if (selectedDate === "urgent") return withStatus.filter(event => event.remainingSeats <= 5);
+    if (selectedDate === "many") return withStatus.filter(event => event.remainingSeats > 10);
+    return withStatus;
+  }, [events, registeredIds, selectedDate]);
+
+  //  Categories seen so far; the selected one stays listed while it filters
+  const categories = useMemo(
+    () => ["all", ...Array.from(knownCategories).sort()],
+    [knownCategories]
+  );
 
   //  Date formatter
   const formatDate = useCallback((dateStr) => {
@@ -145,37 +209,27 @@ export default function StudentEvents() {
       return;
     }
 
-    const event = allEvents.find(e => e.id === eventId);
-    if (!event || event.isRegistered || event.remainingSeats <= 0) return;
+    const event = events.find(e => e.id === eventId);
+    if (!event || registeredIds.has(eventId) || event.remainingSeats <= 0) return;
 
     setRegisterLoading(prev => ({ ...prev, [eventId]: true }));
     setError("");
 
+    const markRegistered = () => setRegisteredIds(prev => new Set(prev).add(eventId));
     try {
       await registerEvent(eventId, token);
       
-      const updateEvent = (eventsArray) =>
+      markRegistered();
+      setEvents(eventsArray =>
         eventsArray.map(e =>
           e.id === eventId
-            ? {
-                ...e,
-                isRegistered: true,
-                remainingSeats: Math.max(0, e.remainingSeats - 1)
-              }
+            ? { ...e, remainingSeats: Math.max(0, e.remainingSeats - 1) }
             : e
-        );
-
-      setEvents(updateEvent(events));
-      setAllEvents(updateEvent(allEvents));
+        ));
     } catch (err) {
       const errorMsg = err.message?.toLowerCase() || "";
       if (errorMsg.includes("already registered")) {
-        const syncEvent = (eventsArray) =>
-          eventsArray.map(e =>
-            e.id === eventId ? { ...e, isRegistered: true } : e
-          );
-        setEvents(syncEvent(events));
-        setAllEvents(syncEvent(allEvents));
+        markRegistered();
       } else {
         setError(err.message || "Registration failed");
       }
@@ -213,7 +267,7 @@ export default function StudentEvents() {
           {error}
         </div>
         <button
-          onClick={loadData}
+          onClick={() => loadData()}
           style={{
             padding: "10px 24px",
             background: "#007bff",
@@ -249,10 +303,10 @@ export default function StudentEvents() {
           fontSize: "32px", 
           fontWeight: "700" 
         }}>
-          🎉 Available Events ({allEvents.length})
+          🎉 Available Events ({total})
         </h1>
         <p style={{ margin: 0, opacity: 0.9, fontSize: "16px" }}>
-          {filteredEvents.length} events match your filters
+          {filteredEvents.length} of {total} events shown
         </p>
       </div>
 
@@ -408,7 +462,7 @@ export default function StudentEvents() {
             Try adjusting your search or filters above
           </p>
           <button
-            onClick={loadData}
+            onClick={() => loadData()}
             style={{
               padding: "14px 28px",
               background: "#007bff",
@@ -644,6 +698,28 @@ export default function StudentEvents() {
           );
         })
       )}
+
+      {/*  MORE RESULTS - next page of the same search */}
+      {events.length < total && (
+        <div style={{ textAlign: "center", marginTop: "24px" }}>
+          <button
+            onClick={loadMore}
+            disabled={loadingMore}
+            style={{
+              padding: "14px 28px",
+              background: loadingMore ? "#6c757d" : "#007bff",
+              color: "white",
+              border: "none",
+              borderRadius: "8px",
+              fontSize: "16px",
+              fontWeight: "600",
+              cursor: loadingMore ? "not-allowed" : "pointer"
+            }}
+          >
+            {loadingMore ? "⏳ Loading..." : `⬇️ Load more (${total - events.length} left)`}
+          </button>
+        </div>
+      )}
     </div>
   );
 }
@@ -43,11 +43,6 @@ export const getEvents = (token) =>
     headers: { Authorization: `Bearer ${token}` },
   }).then(handleResponse);
 
-  export const getStudentEvents = (token) =>
-  fetch(`${BASE}/events/available`, {
-    headers: { Authorization: `Bearer ${token}` },
-  }).then(handleResponse);
-
 export const createEvent = (event, token) =>
   fetch(`${BASE}/events`, {
     method: "POST",
@@ -82,13 +77,37 @@ export const registerEvent = (id, token) =>
     headers: { Authorization: `Bearer ${token}` },
   }).then(handleResponse);
 
+// 🎟️ Queued registration for big events: returns a ticket, then poll it
+export const registerEventQueued = (id, token) =>
+  fetch(`${BASE}/registrations/${id}?async=true`, {
+    method: "POST",
+    headers: { Authorization: `Bearer ${token}` },
+  }).then(handleResponse);
+
+// Long-polls until the ticket leaves PENDING (server holds each call up to `wait` ms)
+export const waitForRegistrationTicket = async (ticketId, token, wait = 20000) => {
+  for (;;) {
+    const res = await fetch(`${BASE}/registrations/tickets/${ticketId}?wait=${wait}`, {
+      headers: { Authorization: `Bearer ${token}` },
+    }).then(handleResponse);
+    if (res.data.status !== "PENDING") return res.data;
+  }
+};
+
 export const myRegistrations = (token) =>
   fetch(`${BASE}/registrations/my`, {
     headers: { Authorization: `Bearer ${token}` },
   }).then(handleResponse);
 
-  export const unregisterEvent = (id, token) =>
-  fetch(`${BASE}/registrations/${id}`, {
+// Past events are archived; their registrations only come back from /history
+export const registrationHistory = (token, after) =>
+  fetch(
+    `${BASE}/registrations/history` + (after != null ? `?after=${after}` : ""),
+    { headers: { Authorization: `Bearer ${token}` } }
+  ).then(handleResponse);
+
+  export const unregisterEvent = (eventId, token) =>
+  fetch(`${BASE}/registrations/${eventId}`, {
     method: "DELETE",
     headers: {
       Authorization: `Bearer ${token}`
@@ -113,3 +132,87 @@ export const getEventStudents = (id, token) =>
   }).then(handleResponse);
 
 
+
+// 🔍 Server-side ranked search (q, category, from, to, page, size)
+export const searchEvents = (params, token) =>
+  fetch(`${BASE}/events/search?${new URLSearchParams(params)}`, {
+    headers: { Authorization: `Bearer ${token}` }
+  }).then(handleResponse);
+
+// ---------- WAITLIST ----------
+export const joinWaitlist = (eventId, token) =>
+  fetch(`${BASE}/registrations/${eventId}/waitlist`, {
+    method: "POST",
+    headers: { Authorization: `Bearer ${token}` }
+  }).then(handleResponse);
+
+export const getWaitlistPosition = (eventId, token) =>
+  fetch(`${BASE}/registrations/${eventId}/waitlist`, {
+    headers: { Authorization: `Bearer ${token}` }
+  }).then(handleResponse);
+
+export const leaveWaitlist = (eventId, token) =>
+  fetch(`${BASE}/registrations/${eventId}/waitlist`, {
+    method: "DELETE",
+    headers: { Authorization: `Bearer ${token}` }
+  }).then(handleResponse);
+
+// ---------- LIVE SEATS (SSE) ----------
+// EventSource cannot send headers: trade the session token for a short-lived stream-only one
+export const getSeatStreamToken = (token) =>
+  fetch(`${BASE}/events/seats/token`, {
+    headers: { Authorization: `Bearer ${token}` }
+  }).then(handleResponse);
+
+const SEAT_STREAM_RETRY_MS = 3000;
+
+// onDelta receives [{ id, remainingSeats }] or [{ id, removed: true }];
+// onResync runs after a reconnect, when deltas may have been missed; returns an unsubscribe fn
+export const subscribeSeats = (token, onDelta, onResync) => {
+  let source = null;
+  let retry = null;
+  let closed = false;
+  let connectedBefore = false;
+
+  const reconnectLater = () => {
+    if (!closed) retry = setTimeout(connect, SEAT_STREAM_RETRY_MS);
+  };
+
+  const connect = async () => {
+    try {
+      const res = await getSeatStreamToken(token);
+      if (closed) return;
+      source = new EventSource(
+        `${BASE}/events/seats/stream?access_token=${encodeURIComponent(res.data)}`
+      );
+      source.addEventListener("open", () => {
+        if (connectedBefore && onResync) onResync();
+        connectedBefore = true;
+      });
+      source.addEventListener("seats", (e) => onDelta(JSON.parse(e.data)));
+      // The browser would retry with the same, soon expired, token: reconnect with a fresh one instead
+      source.onerror = () => {
+        source.close();
+        reconnectLater();
+      };
+    } catch (e) {
+      reconnectLater();
+    }
+  };
+
+  connect();
+  return () => {
+    closed = true;
+    clearTimeout(retry);
+    if (source) source.close();
+  };
+};
+
+// 📥 Student export (csv | ndjson) as a Blob, for download links
+export const exportEventStudents = (id, format, token) =>
+  fetch(`${BASE}/events/${id}/students/export?format=${format}`, {
+    headers: { Authorization: `Bearer ${token}` }
+  }).then((res) => {
+    if (!res.ok) throw new Error(`HTTP ${res.status}`);
+    return res.blob();
+  });